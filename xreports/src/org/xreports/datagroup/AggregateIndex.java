@@ -0,0 +1,252 @@
+package org.xreports.datagroup;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Indice dei valori aggregati dei gruppi discendenti di un {@link Group}. <br/>
+ * Ogni istanza di gruppo mantiene un indice che viene aggiornato man mano che i
+ * dati vengono caricati: {@link GroupList} lo avvisa alla creazione e alla
+ * eliminazione di ogni istanza discendente e {@link DataField#setValue(Object)} ad ogni
+ * modifica del valore di un campo indicizzato (vedi
+ * {@link GroupModel#addAggregateField(String, boolean)}). In questo modo le
+ * funzioni di aggregazione senza condizioni (conteggio, somma, minimo, massimo,
+ * valori distinti) non devono navigare tutto l'albero dei gruppi ad ogni
+ * valutazione.
+ * <p>
+ * Quando un valore numerico già presente viene sostituito con un altro, la
+ * somma dei double e i minimi/massimi non sono più garantiti esatti: in questo
+ * caso l'indice lo segnala e il chiamante deve ricalcolare navigando l'albero.
+ * </p>
+ */
+class AggregateIndex {
+  /** statistiche vuote, ritornate per i campi indicizzati senza alcun valore */
+  static final FieldStats              EMPTY_STATS = new FieldStats(false);
+
+  /** quantità di istanze discendenti per ogni modello di gruppo */
+  private Map<GroupModel, int[]>        m_counts;
+
+  /** statistiche dei campi indicizzati delle istanze discendenti */
+  private Map<DataFieldModel, FieldStats> m_stats;
+
+  /**
+   * Registra la creazione di una nuova istanza discendente.
+   *
+   * @param model
+   *          modello del gruppo creato
+   */
+  void groupAdded(GroupModel model) {
+    if (m_counts == null) {
+      m_counts = new HashMap<GroupModel, int[]>();
+    }
+    int[] count = m_counts.get(model);
+    if (count == null) {
+      m_counts.put(model, new int[] { 1 });
+    } else {
+      count[0]++;
+    }
+  }
+
+  /**
+   * Registra l'eliminazione di una istanza discendente; i valori dei suoi
+   * campi indicizzati vanno tolti a parte con
+   * {@link #valueChanged(DataFieldModel, Object, Object)}.
+   *
+   * @param model
+   *          modello del gruppo eliminato
+   */
+  void groupRemoved(GroupModel model) {
+    int[] count = m_counts == null ? null : m_counts.get(model);
+    if (count != null && count[0] > 0) {
+      count[0]--;
+    }
+  }
+
+  /**
+   * Ritorna la quantità di istanze discendenti del modello dato.
+   */
+  int getCount(GroupModel model) {
+    if (m_counts == null) {
+      return 0;
+    }
+    int[] count = m_counts.get(model);
+    return count == null ? 0 : count[0];
+  }
+
+  /**
+   * Registra la modifica del valore di un campo indicizzato di una istanza
+   * discendente.
+   *
+   * @param model
+   *          modello del campo modificato
+   * @param oldValue
+   *          valore precedente (null se il campo era null o empty)
+   * @param newValue
+   *          nuovo valore
+   */
+  void valueChanged(DataFieldModel model, Object oldValue, Object newValue) {
+    if (m_stats == null) {
+      m_stats = new HashMap<DataFieldModel, FieldStats>();
+    }
+    FieldStats stats = m_stats.get(model);
+    if (stats == null) {
+      stats = new FieldStats(model.isAggregateDistinct());
+      m_stats.put(model, stats);
+    }
+    if (oldValue != null) {
+      stats.remove(oldValue);
+    }
+    if (newValue != null) {
+      stats.add(newValue);
+    }
+  }
+
+  /**
+   * Ritorna le statistiche del campo dato; se nessuna istanza discendente ha
+   * valorizzato il campo, ritorna {@link #EMPTY_STATS}.
+   */
+  FieldStats getStats(DataFieldModel model) {
+    FieldStats stats = m_stats == null ? null : m_stats.get(model);
+    return stats == null ? EMPTY_STATS : stats;
+  }
+
+  /**
+   * Valori aggregati di un singolo campo. I valori null non vengono
+   * considerati; i valori numerici a zero non concorrono a minimo e massimo,
+   * come in {@link Group#calcFieldsSum(java.util.List)}.
+   */
+  static class FieldStats {
+    /** quantità di valori non null */
+    private int                 m_valueCount;
+    /** quantità di valori non numerici */
+    private int                 m_nonNumericCount;
+    private long                m_longSum;
+    private double              m_doubleSum;
+    private boolean             m_doubleSumExact = true;
+    private boolean             m_hasMinMax;
+    private boolean             m_minMaxExact    = true;
+    private long                m_minLong;
+    private long                m_maxLong;
+    private double              m_minDouble;
+    private double              m_maxDouble;
+    /** valore distinto --> quantità di occorrenze; null se non richiesto */
+    private Map<Object, int[]>  m_distinct;
+
+    FieldStats(boolean distinct) {
+      if (distinct) {
+        m_distinct = new HashMap<Object, int[]>();
+      }
+    }
+
+    private void add(Object value) {
+      m_valueCount++;
+      if (m_distinct != null) {
+        int[] count = m_distinct.get(value);
+        if (count == null) {
+          m_distinct.put(value, new int[] { 1 });
+        } else {
+          count[0]++;
+        }
+      }
+      if ( !(value instanceof Number)) {
+        m_nonNumericCount++;
+        return;
+      }
+      Number n = (Number) value;
+      m_longSum += n.longValue();
+      m_doubleSum += n.doubleValue();
+      if (n.doubleValue() == 0.0) {
+        return;
+      }
+      //NB: il min/max dei campi interi usa intValue() come DataField.getAsLongSafe()
+      long l = n.intValue();
+      double d = n.doubleValue();
+      if ( !m_hasMinMax) {
+        m_minLong = m_maxLong = l;
+        m_minDouble = m_maxDouble = d;
+        m_hasMinMax = true;
+      } else {
+        m_minLong = Math.min(m_minLong, l);
+        m_maxLong = Math.max(m_maxLong, l);
+        m_minDouble = Math.min(m_minDouble, d);
+        m_maxDouble = Math.max(m_maxDouble, d);
+      }
+    }
+
+    private void remove(Object value) {
+      m_valueCount--;
+      if (m_distinct != null) {
+        int[] count = m_distinct.get(value);
+        if (count != null && --count[0] == 0) {
+          m_distinct.remove(value);
+        }
+      }
+      if ( !(value instanceof Number)) {
+        m_nonNumericCount--;
+        return;
+      }
+      Number n = (Number) value;
+      m_longSum -= n.longValue();
+      if (n.doubleValue() == 0.0) {
+        return;
+      }
+      m_doubleSum -= n.doubleValue();
+      m_doubleSumExact = false;
+      //se il valore tolto è strettamente interno all'intervallo, min e max non cambiano
+      long l = n.intValue();
+      double d = n.doubleValue();
+      if (l <= m_minLong || l >= m_maxLong || d <= m_minDouble || d >= m_maxDouble) {
+        m_minMaxExact = false;
+      }
+    }
+
+    /** @return quantità di valori non null */
+    int getValueCount() {
+      return m_valueCount;
+    }
+
+    /** @return true sse tutti i valori presenti sono numerici */
+    boolean isAllNumeric() {
+      return m_nonNumericCount == 0;
+    }
+
+    long getLongSum() {
+      return m_longSum;
+    }
+
+    double getDoubleSum() {
+      return m_doubleSum;
+    }
+
+    boolean isDoubleSumExact() {
+      return m_doubleSumExact;
+    }
+
+    boolean isMinMaxExact() {
+      return m_minMaxExact;
+    }
+
+    /**
+     * @return minimo o massimo dei valori non nulli e diversi da zero, come
+     *         Long se <tt>integer</tt> è true, altrimenti come Double; null se
+     *         non ci sono valori
+     */
+    Number getMinMax(boolean max, boolean integer) {
+      if ( !m_hasMinMax) {
+        return null;
+      }
+      if (integer) {
+        return Long.valueOf(max ? m_maxLong : m_minLong);
+      }
+      return Double.valueOf(max ? m_maxDouble : m_minDouble);
+    }
+
+    /**
+     * @return quantità di valori distinti, oppure -1 se il conteggio dei
+     *         distinti non è stato richiesto per questo campo
+     */
+    int getDistinctCount() {
+      return m_distinct == null ? -1 : m_distinct.size();
+    }
+  }
+}
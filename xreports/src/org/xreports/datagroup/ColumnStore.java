@@ -0,0 +1,397 @@
+package org.xreports.datagroup;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.xreports.datagroup.DataFieldModel.TipoCampo;
+import org.xreports.db.RowSchema;
+import org.xreports.db.SchemaRow;
+
+/**
+ * Memorizzazione per colonne dei valori delle istanze di un
+ * {@link GroupModel} (vedi {@link GroupModel#setColumnar(boolean)}). <br/>
+ * Ogni istanza riceve un numero d'ordine ({@link #allocate()}) e ogni campo
+ * non automatico del modello ha una {@link Column} con i valori di tutte le
+ * istanze, indicizzati per numero d'ordine: i numeri interi, i booleani e le
+ * date sono memorizzati in un <tt>long[]</tt> (le date come millisecondi), i
+ * double in un <tt>double[]</tt>, gli altri valori (stringhe, BigDecimal,...)
+ * in un <tt>Object[]</tt>; due bitmap indicano i valori assegnati e quelli
+ * null. <br/>
+ * Le istanze non mantengono quindi né la mappa dei campi né un
+ * {@link DataField} e un oggetto per ogni valore: i DataField restituiti da
+ * {@link Group#getField(String)} sono viste temporanee sulla colonna, che
+ * leggono e scrivono direttamente nei vettori.
+ */
+final class ColumnStore {
+  /** colonne, per nome del campo in minuscolo */
+  private final Map<String, Column> m_columns   = new LinkedHashMap<String, Column>();
+  private Column[]                  m_array     = new Column[0];
+
+  /** primo numero d'ordine mai assegnato */
+  private int                       m_next      = 0;
+  /** numeri d'ordine liberati, riassegnati prima di m_next */
+  private int[]                     m_free      = new int[16];
+  private int                       m_freeCount = 0;
+
+  /**
+   * Assegna il numero d'ordine ad una nuova istanza.
+   */
+  int allocate() {
+    if (m_freeCount > 0) {
+      return m_free[--m_freeCount];
+    }
+    return m_next++;
+  }
+
+  /**
+   * Libera il numero d'ordine di un'istanza distrutta, azzerandone i valori.
+   */
+  void release(int ordinal) {
+    for (Column c : m_array) {
+      c.reset(ordinal);
+    }
+    if (m_freeCount == m_free.length) {
+      m_free = Arrays.copyOf(m_free, m_freeCount * 2);
+    }
+    m_free[m_freeCount++] = ordinal;
+  }
+
+  /**
+   * @return quantità di istanze che hanno un numero d'ordine
+   */
+  int size() {
+    return m_next - m_freeCount;
+  }
+
+  /**
+   * Ritorna la colonna del campo passato, creandola se non c'è ancora.
+   */
+  Column getColumn(DataFieldModel model) {
+    String name = model.getNome().toLowerCase();
+    Column c = m_columns.get(name);
+    if (c == null) {
+      c = new Column(model);
+      m_columns.put(name, c);
+      m_array = m_columns.values().toArray(new Column[m_columns.size()]);
+    }
+    return c;
+  }
+
+  /**
+   * Ritorna la vista sul campo passato dell'istanza passata.
+   *
+   * @param lowerName
+   *          nome del campo in minuscolo
+   * @return vista sul campo, oppure null se il campo non c'è
+   */
+  DataField view(Group group, int ordinal, String lowerName) {
+    Column c = m_columns.get(lowerName);
+    return c == null ? null : c.view(group, ordinal);
+  }
+
+  /**
+   * Aggiunge alla lista le viste su tutti i campi dell'istanza passata.
+   */
+  void addViews(Group group, int ordinal, List<DataField> list) {
+    for (Column c : m_array) {
+      list.add(c.view(group, ordinal));
+    }
+  }
+
+  /**
+   * Assegna all'istanza passata i valori della riga, per i campi che hanno
+   * una colonna nella riga.
+   */
+  void copyValues(Group group, int ordinal, SchemaRow row) {
+    RowSchema schema = row.getSchema();
+    for (Column c : m_array) {
+      int slot = c.m_model.getSlot(schema);
+      if (slot >= 0) {
+        Object v = row.getValue(slot);
+        if (c.m_model.getTipo() == TipoCampo.UNKNOWN || c.m_model.isAggregateIndexed()) {
+          //deduzione del tipo e indici degli aggregati: passo da DataField
+          c.view(group, ordinal).setValue(v);
+        } else {
+          c.set(ordinal, c.m_model.encode(v));
+        }
+      }
+    }
+  }
+
+  /**
+   * Ritorna una copia dei campi dell'istanza passata che mantiene i valori al
+   * suo interno, per la serializzazione.
+   */
+  List<DataField> detach(Group group, int ordinal) {
+    List<DataField> list = new ArrayList<DataField>(m_array.length);
+    for (Column c : m_array) {
+      list.add(c.view(group, ordinal).detach());
+    }
+    return list;
+  }
+
+  /**
+   * @return memoria stimata occupata dai vettori, in byte; i valori
+   *         memorizzati come oggetti contano solo per il riferimento
+   */
+  long getBytes() {
+    long bytes = 0;
+    for (Column c : m_array) {
+      bytes += c.getBytes();
+    }
+    return bytes + 4L * m_free.length;
+  }
+
+  /**
+   * Valori di un campo per tutte le istanze di un modello.
+   */
+  static final class Column {
+    private static final byte    K_NONE      = 0;
+    private static final byte    K_LONG      = 1;
+    private static final byte    K_INTEGER   = 2;
+    private static final byte    K_BOOLEAN   = 3;
+    private static final byte    K_DOUBLE    = 4;
+    private static final byte    K_DATE      = 5;
+    private static final byte    K_SQLDATE   = 6;
+    private static final byte    K_TIMESTAMP = 7;
+    private static final byte    K_OBJECT    = 8;
+
+    private final DataFieldModel m_model;
+
+    /**
+     * come sono memorizzati i valori, dedotto dalla classe del primo valore
+     * non null assegnato
+     */
+    private byte                 m_kind      = K_NONE;
+    private int                  m_capacity  = 0;
+    private long[]               m_longs;
+    private double[]             m_doubles;
+    /**
+     * valori di classe K_OBJECT, oppure di classe diversa da quella della
+     * colonna; creato solo quando serve
+     */
+    private Object[]             m_objects;
+    /** bitmap dei valori assegnati (campo non empty) */
+    private long[]               m_set       = new long[0];
+    /** bitmap dei valori null */
+    private long[]               m_nulls     = new long[0];
+
+    Column(DataFieldModel model) {
+      m_model = model;
+    }
+
+    DataFieldModel getModel() {
+      return m_model;
+    }
+
+    DataField view(Group group, int ordinal) {
+      DataField f = new DataField(m_model, this, ordinal);
+      f.setGroup(group);
+      return f;
+    }
+
+    boolean isEmpty(int ordinal) {
+      return !bit(m_set, ordinal);
+    }
+
+    boolean isNull(int ordinal) {
+      return bit(m_nulls, ordinal) || !bit(m_set, ordinal);
+    }
+
+    Object get(int ordinal) {
+      if (isNull(ordinal)) {
+        return null;
+      }
+      if (m_objects != null && m_objects[ordinal] != null) {
+        return m_objects[ordinal];
+      }
+      switch (m_kind) {
+        case K_LONG:
+          return Long.valueOf(m_longs[ordinal]);
+        case K_INTEGER:
+          return Integer.valueOf((int) m_longs[ordinal]);
+        case K_BOOLEAN:
+          return Boolean.valueOf(m_longs[ordinal] != 0);
+        case K_DOUBLE:
+          return Double.valueOf(m_doubles[ordinal]);
+        case K_DATE:
+          return new Date(m_longs[ordinal]);
+        case K_SQLDATE:
+          return new java.sql.Date(m_longs[ordinal]);
+        case K_TIMESTAMP:
+          return new Timestamp(m_longs[ordinal]);
+        default:
+          return null;
+      }
+    }
+
+    /**
+     * Come <tt>((Number) get(ordinal)).longValue()</tt>, senza creare oggetti
+     * per i valori numerici memorizzati nei vettori.
+     */
+    long getLong(int ordinal) {
+      if (m_objects == null || m_objects[ordinal] == null) {
+        if (m_kind == K_LONG || m_kind == K_INTEGER) {
+          return m_longs[ordinal];
+        }
+        if (m_kind == K_DOUBLE) {
+          return (long) m_doubles[ordinal];
+        }
+      }
+      return ((Number) get(ordinal)).longValue();
+    }
+
+    /**
+     * Come <tt>((Number) get(ordinal)).doubleValue()</tt>, senza creare
+     * oggetti per i valori numerici memorizzati nei vettori.
+     */
+    double getDouble(int ordinal) {
+      if (m_objects == null || m_objects[ordinal] == null) {
+        if (m_kind == K_LONG || m_kind == K_INTEGER) {
+          return m_longs[ordinal];
+        }
+        if (m_kind == K_DOUBLE) {
+          return m_doubles[ordinal];
+        }
+      }
+      return ((Number) get(ordinal)).doubleValue();
+    }
+
+    void set(int ordinal, Object v) {
+      if (ordinal >= m_capacity) {
+        grow(ordinal + 1);
+      }
+      setBit(m_set, ordinal, true);
+      setBit(m_nulls, ordinal, v == null);
+      if (m_objects != null) {
+        m_objects[ordinal] = null;
+      }
+      if (v == null) {
+        return;
+      }
+      if (m_kind == K_NONE) {
+        setKind(kindOf(v));
+      }
+      if (m_kind != K_OBJECT && kindOf(v) == m_kind) {
+        switch (m_kind) {
+          case K_LONG:
+          case K_INTEGER:
+            m_longs[ordinal] = ((Number) v).longValue();
+            break;
+          case K_BOOLEAN:
+            m_longs[ordinal] = ((Boolean) v).booleanValue() ? 1 : 0;
+            break;
+          case K_DOUBLE:
+            m_doubles[ordinal] = ((Double) v).doubleValue();
+            break;
+          default:
+            m_longs[ordinal] = ((Date) v).getTime();
+        }
+        return;
+      }
+      if (m_objects == null) {
+        m_objects = new Object[m_capacity];
+      }
+      m_objects[ordinal] = v;
+    }
+
+    void reset(int ordinal) {
+      if (ordinal < m_capacity) {
+        setBit(m_set, ordinal, false);
+        setBit(m_nulls, ordinal, false);
+        if (m_objects != null) {
+          m_objects[ordinal] = null;
+        }
+      }
+    }
+
+    long getBytes() {
+      long bytes = 8L * (m_set.length + m_nulls.length);
+      if (m_longs != null) {
+        bytes += 8L * m_longs.length;
+      }
+      if (m_doubles != null) {
+        bytes += 8L * m_doubles.length;
+      }
+      if (m_objects != null) {
+        bytes += 4L * m_objects.length;
+      }
+      return bytes;
+    }
+
+    private void setKind(byte kind) {
+      m_kind = kind;
+      if (kind == K_DOUBLE) {
+        m_doubles = new double[m_capacity];
+      } else if (kind != K_OBJECT) {
+        m_longs = new long[m_capacity];
+      }
+    }
+
+    private void grow(int min) {
+      int capacity = Math.max(Math.max(16, min), m_capacity + (m_capacity >> 1));
+      m_capacity = capacity;
+      int words = (capacity + 63) >>> 6;
+      m_set = Arrays.copyOf(m_set, words);
+      m_nulls = Arrays.copyOf(m_nulls, words);
+      if (m_longs != null) {
+        m_longs = Arrays.copyOf(m_longs, capacity);
+      }
+      if (m_doubles != null) {
+        m_doubles = Arrays.copyOf(m_doubles, capacity);
+      }
+      if (m_objects != null) {
+        m_objects = Arrays.copyOf(m_objects, capacity);
+      }
+    }
+
+    /**
+     * Ritorna il modo di memorizzare i valori della classe di quello passato:
+     * solo le classi che possono essere ricostruite esattamente dal valore
+     * primitivo sono memorizzate nei vettori primitivi.
+     */
+    private static byte kindOf(Object v) {
+      Class<?> c = v.getClass();
+      if (c == Long.class) {
+        return K_LONG;
+      }
+      if (c == Integer.class) {
+        return K_INTEGER;
+      }
+      if (c == Double.class) {
+        return K_DOUBLE;
+      }
+      if (c == Boolean.class) {
+        return K_BOOLEAN;
+      }
+      if (c == Date.class) {
+        return K_DATE;
+      }
+      if (c == java.sql.Date.class) {
+        return K_SQLDATE;
+      }
+      if (c == Timestamp.class && ((Timestamp) v).getNanos() % 1000000 == 0) {
+        return K_TIMESTAMP;
+      }
+      return K_OBJECT;
+    }
+
+    private static boolean bit(long[] bits, int i) {
+      int w = i >>> 6;
+      return w < bits.length && (bits[w] & (1L << i)) != 0;
+    }
+
+    private static void setBit(long[] bits, int i, boolean on) {
+      if (on) {
+        bits[i >>> 6] |= 1L << i;
+      } else {
+        bits[i >>> 6] &= ~(1L << i);
+      }
+    }
+  }
+}
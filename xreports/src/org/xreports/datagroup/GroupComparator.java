@@ -1,108 +1,544 @@
-/**
- * 
- */
-package org.xreports.datagroup;
-
-import java.util.Comparator;
-import java.util.Set;
-
-/**
- * @author pier
- * 
- */
-public class GroupComparator implements Comparator<Group> {
-  private Set<String> m_nomiCampo     = null;
-  private boolean      m_caseSensitive = true;
-  private boolean      m_ascending     = true;
-
-  /**
-   * Crea un oggetto che compara due gruppi rispetto all'elenco ordinato di campi passati.
-   * 
-   * @param nomi
-   *          elenco campi
-   * @param caseSensitive
-   *          true se il confronto fra stringhe  case-sensitive
-   * @param ascending
-   *          true se ordinamento crescente, false se decrescente
-   * 
-   * @throws CISException
-   *           nel caso la lista di campi sia vuota
-   */
-  public GroupComparator(Set<String> nomi, boolean caseSensitive, boolean ascending) throws GroupException {
-    if (nomi == null || nomi.size() == 0) {
-      throw new GroupException("Non si pu passare una lista vuota di nomi");
-    }
-    m_nomiCampo = nomi;
-    m_caseSensitive = caseSensitive;
-    m_ascending = ascending;
-  }
-
-  /**
-   * Confronta i due gruppi passati in base all'elenco di campi passati nel costruttore. Due gruppi sono uguali (ritorna 0) se tutti
-   * i campi (nella rappresentazione stringa) sono uguali. <br/>
-   * Ritorna un intero positivo se g1  maggiore di g2, nel senso che il primo campo diverso fra i due gruppi  maggiore in g1
-   * rispetto a g2. <br/>
-   * Ritorna un intero negativo se g1  minore di g2, nel senso che il primo campo diverso fra i due gruppi  minore in g1 rispetto
-   * a g2.
-   * 
-   */
-  @Override
-  public int compare(Group g1, Group g2) {
-    int fatt = m_ascending ? 1 : -1;
-    for (String nomeCampo : m_nomiCampo) {
-      Object v1;
-      Object v2;
-      try {
-        v1 = getCampoValue(g1, nomeCampo);
-        v2 = getCampoValue(g2, nomeCampo);
-      } catch (Exception e) {
-        throw new IllegalStateException("Errore grave in lettura dei campi: " + e.toString());
-      }
-      int compare = 0;
-      //gestione di uno o 2 valori null
-      if (v1 == null || v2 == null) {
-        if (v1 == null && v2 == null) {
-          compare = 0;
-        } else if (v1 == null) {
-          compare = -1;
-        } else {
-          compare = 1;
-        }
-      } else {
-        //nessuno dei due  null: uso Comparable
-        if (v1 instanceof Number && v2 instanceof Number) {
-          NumberComparator nc = new NumberComparator();
-          compare = nc.compare((Number)v1, (Number)v2);
-        }
-        else {
-          if (v1 instanceof Comparable<?> && v2 instanceof Comparable<?>) {
-            compare = ((Comparable) v1).compareTo((Comparable) v2);
-          }          
-        }
-      }
-      //se i due gruppi su questo campo sono diversi, mi fermo qui
-      //altrimenti passo al prossimo
-      if (compare != 0) {
-        return compare * fatt;
-      }
-    }
-
-    //se arrivo qui tutti i campi sono uguali, quindi torno 0
-    return 0;
-  }
-
-  private Object getCampoValue(Group g, String nomeCampo) throws GroupException {
-    DataField campo = g.getField(nomeCampo);
-    if (campo == null) {
-      throw new GroupException("Il campo '" + nomeCampo + "' non esiste nel gruppo " + g.getName());
-    }
-    //per evitare NullPointerException, se il campo non esiste torno stringa vuota
-    if (campo.isEmptyNullOrZero()) {
-      return null;
-    }
-    if ( !campo.isString()) {
-      return campo.getValue();
-    }
-    return (m_caseSensitive ? campo.getAsStringSafe() : campo.getAsStringSafe().toLowerCase());
-  }
-}
+/**
+ * 
+ */
+package org.xreports.datagroup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * @author pier
+ * 
+ */
+public class GroupComparator implements Comparator<Group> {
+  /** quantità minima di istanze per ordinare in parallelo (vedi {@link #sort(List)}) */
+  public static final int                 PARALLEL_THRESHOLD = 50000;
+  /** quantità massima di thread usati per ordinare in parallelo */
+  private static final int                MAX_SORT_THREADS   = 8;
+  private static final NumberComparator   NUMBER_COMPARATOR  = new NumberComparator();
+
+  private Set<String> m_nomiCampo     = null;
+  private boolean      m_caseSensitive = true;
+  private boolean      m_ascending     = true;
+
+  /**
+   * Crea un oggetto che compara due gruppi rispetto all'elenco ordinato di campi passati.
+   * 
+   * @param nomi
+   *          elenco campi
+   * @param caseSensitive
+   *          true se il confronto fra stringhe è case-sensitive
+   * @param ascending
+   *          true se ordinamento crescente, false se decrescente
+   * 
+   * @throws CISException
+   *           nel caso la lista di campi sia vuota
+   */
+  public GroupComparator(Set<String> nomi, boolean caseSensitive, boolean ascending) throws GroupException {
+    if (nomi == null || nomi.size() == 0) {
+      throw new GroupException("Non si può passare una lista vuota di nomi");
+    }
+    m_nomiCampo = nomi;
+    m_caseSensitive = caseSensitive;
+    m_ascending = ascending;
+  }
+
+  /**
+   * Confronta i due gruppi passati in base all'elenco di campi passati nel costruttore. Due gruppi sono uguali (ritorna 0) se tutti
+   * i campi (nella rappresentazione stringa) sono uguali. <br/>
+   * Ritorna un intero positivo se g1 è maggiore di g2, nel senso che il primo campo diverso fra i due gruppi è maggiore in g1
+   * rispetto a g2. <br/>
+   * Ritorna un intero negativo se g1 è minore di g2, nel senso che il primo campo diverso fra i due gruppi è minore in g1 rispetto
+   * a g2.
+   * 
+   */
+  @Override
+  public int compare(Group g1, Group g2) {
+    int fatt = m_ascending ? 1 : -1;
+    for (String nomeCampo : m_nomiCampo) {
+      DataField f1;
+      Object v1;
+      Object v2;
+      try {
+        f1 = getCampo(g1, nomeCampo);
+        v1 = getCampoValue(f1);
+        v2 = getCampoValue(getCampo(g2, nomeCampo));
+      } catch (Exception e) {
+        throw new IllegalStateException("Errore grave in lettura dei campi: " + e.toString());
+      }
+      int compare = 0;
+      //gestione di uno o 2 valori null
+      if (v1 == null || v2 == null) {
+        if (v1 == null && v2 == null) {
+          compare = 0;
+        } else if (v1 == null) {
+          compare = -1;
+        } else {
+          compare = 1;
+        }
+      } else {
+        //nessuno dei due è null: uso Comparable
+        if (v1 instanceof Number && v2 instanceof Number) {
+          compare = NUMBER_COMPARATOR.compare((Number)v1, (Number)v2);
+        }
+        else if (v1 instanceof String && v2 instanceof String && f1.isString()) {
+          compare = compareStrings(f1.getModel(), (String) v1, (String) v2);
+        }
+        else {
+          if (v1 instanceof Comparable<?> && v2 instanceof Comparable<?>) {
+            compare = ((Comparable) v1).compareTo((Comparable) v2);
+          }          
+        }
+      }
+      //se i due gruppi su questo campo sono diversi, mi fermo qui
+      //altrimenti passo al prossimo
+      if (compare != 0) {
+        return compare * fatt;
+      }
+    }
+
+    //se arrivo qui tutti i campi sono uguali, quindi torno 0
+    return 0;
+  }
+
+  /**
+   * Ritorna la specifica di questo ordinamento per le istanze del modello
+   * passato, usata da {@link GroupList#sort(GroupComparator)} per riusare un
+   * ordinamento già calcolato.
+   * 
+   * @return specifica dell'ordinamento, oppure null se l'ordinamento non può
+   *         essere riusato perché qualche campo non esiste o è calcolato, e
+   *         quindi il suo valore può cambiare durante la stampa
+   */
+  String getSortSpec(GroupModel model) {
+    StringBuilder sb = new StringBuilder();
+    for (String nomeCampo : m_nomiCampo) {
+      DataFieldModel campo = model.getCampo(nomeCampo);
+      if (campo == null || campo.isAuto()) {
+        return null;
+      }
+      sb.append(nomeCampo.toLowerCase()).append(',');
+    }
+    sb.append(m_caseSensitive ? "cs" : "ci").append(m_ascending ? "+" : "-");
+    return sb.toString();
+  }
+
+  /**
+   * Ordina la lista passata con lo stesso risultato di
+   * <tt>Collections.sort(list, this)</tt>, ma leggendo i valori dei campi una
+   * sola volta: prima dell'ordinamento viene calcolata per ogni istanza la
+   * chiave di ordinamento di ogni campo (numero, posizione nel dizionario del
+   * campo oppure stringa già convertita in minuscolo), e durante
+   * l'ordinamento si confrontano solo le chiavi. L'ordinamento è stabile; le
+   * liste di almeno {@link #PARALLEL_THRESHOLD} istanze vengono ordinate a
+   * blocchi in parallelo.
+   * 
+   * @param list
+   *          lista da ordinare, tutte istanze dello stesso modello
+   * @throws GroupException
+   *           se un campo dell'ordinamento non esiste
+   */
+  public void sort(List<Group> list) throws GroupException {
+    int n = list.size();
+    if (n < 2) {
+      return;
+    }
+    Group[] groups = list.toArray(new Group[n]);
+    SortKeys keys = buildKeys(groups);
+    Integer[] order = new Integer[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = Integer.valueOf(i);
+    }
+    int threads = Math.min(Runtime.getRuntime().availableProcessors(), MAX_SORT_THREADS);
+    if (n >= PARALLEL_THRESHOLD && threads > 1) {
+      parallelSort(order, keys, threads);
+    } else {
+      Arrays.sort(order, keys);
+    }
+    for (int i = 0; i < n; i++) {
+      list.set(i, groups[order[i].intValue()]);
+    }
+  }
+
+  /**
+   * Ritorna le prime <tt>limit</tt> istanze della lista secondo questo
+   * ordinamento, oppure le ultime se <tt>last</tt> è true, ordinate: il
+   * risultato è lo stesso di ordinare tutta la lista con {@link #sort(List)}
+   * e prenderne la parte iniziale (o finale), ma la selezione mantiene solo
+   * un heap di <tt>limit</tt> istanze, con O(n log limit) confronti invece di
+   * O(n log n). La lista passata non viene modificata.
+   * 
+   * @param list
+   *          lista da cui selezionare, tutte istanze dello stesso modello
+   * @param limit
+   *          quantità di istanze da selezionare
+   * @param last
+   *          true per selezionare le ultime istanze invece delle prime
+   * @return nuova lista con le istanze selezionate
+   * @throws GroupException
+   *           se un campo dell'ordinamento non esiste
+   */
+  public List<Group> select(List<Group> list, int limit, boolean last) throws GroupException {
+    int n = list.size();
+    if (n <= limit) {
+      List<Group> all = new ArrayList<Group>(list);
+      sort(all);
+      return all;
+    }
+    Group[] groups = list.toArray(new Group[n]);
+    SortKeys keys = buildKeys(groups);
+    //in testa all'heap c'è la peggiore delle istanze selezionate
+    HeapOrder heapOrder = new HeapOrder(keys, last);
+    PriorityQueue<Integer> heap = new PriorityQueue<Integer>(Math.max(1, limit), heapOrder);
+    for (int i = 0; i < n; i++) {
+      Integer candidate = Integer.valueOf(i);
+      if (heap.size() < limit) {
+        heap.add(candidate);
+      } else if (limit > 0 && heapOrder.compare(heap.peek(), candidate) < 0) {
+        heap.poll();
+        heap.add(candidate);
+      }
+    }
+    Integer[] order = heap.toArray(new Integer[heap.size()]);
+    //a parità di chiave resta l'ordine originale, come in sort(List)
+    Arrays.sort(order);
+    Arrays.sort(order, keys);
+    List<Group> selected = new ArrayList<Group>(order.length);
+    for (Integer i : order) {
+      selected.add(groups[i.intValue()]);
+    }
+    return selected;
+  }
+
+  /**
+   * Calcola le chiavi di ordinamento dei gruppi passati, una colonna per ogni
+   * campo dell'ordinamento.
+   */
+  private SortKeys buildKeys(Group[] groups) throws GroupException {
+    int n = groups.length;
+    SortKeys keys = new SortKeys(m_nomiCampo.size(), n, m_ascending ? 1 : -1);
+    int j = 0;
+    for (String nomeCampo : m_nomiCampo) {
+      Object[] values = new Object[n];
+      DataFieldModel model = null;
+      for (int i = 0; i < n; i++) {
+        DataField campo = getCampo(groups[i], nomeCampo);
+        model = campo.getModel();
+        values[i] = getCampoValue(campo);
+      }
+      keys.setColumn(j++, values, model != null && model.isString() ? model : null, m_caseSensitive);
+    }
+    return keys;
+  }
+
+  /**
+   * Ordina l'array a blocchi, ognuno in un proprio thread, e poi fonde i
+   * blocchi ordinati mantenendo l'ordinamento stabile.
+   */
+  private static void parallelSort(Integer[] order, SortKeys keys, int threads) throws GroupException {
+    int n = order.length;
+    int chunk = (n + threads - 1) / threads;
+    SortTask[] tasks = new SortTask[threads];
+    Thread[] workers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      tasks[t] = new SortTask(order, Math.min(n, t * chunk), Math.min(n, (t + 1) * chunk), keys);
+      workers[t] = new Thread(tasks[t], "xreports-sort-" + t);
+      workers[t].setDaemon(true);
+      workers[t].start();
+    }
+    try {
+      for (int t = 0; t < threads; t++) {
+        workers[t].join();
+        if (tasks[t].m_error != null) {
+          throw tasks[t].m_error;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new GroupException(e, "interrotto l'ordinamento delle istanze");
+    }
+    Integer[] src = order;
+    Integer[] dst = new Integer[n];
+    for (int width = chunk; width < n; width *= 2) {
+      for (int from = 0; from < n; from += 2 * width) {
+        merge(src, dst, from, Math.min(n, from + width), Math.min(n, from + 2 * width), keys);
+      }
+      Integer[] tmp = src;
+      src = dst;
+      dst = tmp;
+    }
+    if (src != order) {
+      System.arraycopy(src, 0, order, 0, n);
+    }
+  }
+
+  /**
+   * Fonde i due blocchi ordinati [from,mid) e [mid,to) di src in dst; a parità
+   * di chiave viene prima l'elemento del primo blocco.
+   */
+  private static void merge(Integer[] src, Integer[] dst, int from, int mid, int to, SortKeys keys) {
+    int i = from;
+    int k = mid;
+    for (int d = from; d < to; d++) {
+      if (k >= to || (i < mid && keys.compare(src[i], src[k]) <= 0)) {
+        dst[d] = src[i++];
+      } else {
+        dst[d] = src[k++];
+      }
+    }
+  }
+
+  /**
+   * Ordina un blocco dell'array in un thread separato.
+   */
+  private static final class SortTask implements Runnable {
+    private final Integer[]  m_order;
+    private final int        m_from;
+    private final int        m_to;
+    private final SortKeys   m_keys;
+    private RuntimeException m_error;
+
+    SortTask(Integer[] order, int from, int to, SortKeys keys) {
+      m_order = order;
+      m_from = from;
+      m_to = to;
+      m_keys = keys;
+    }
+
+    @Override
+    public void run() {
+      try {
+        Arrays.sort(m_order, m_from, m_to, m_keys);
+      } catch (RuntimeException e) {
+        m_error = e;
+      }
+    }
+  }
+
+  /**
+   * Ordine dell'heap di {@link GroupComparator#select(List, int, boolean)}:
+   * un'istanza è minore di un'altra se verrebbe esclusa prima dalla
+   * selezione, cioè se nell'ordinamento completo sarebbe più lontana
+   * dall'inizio (o dalla fine, selezionando le ultime).
+   */
+  private static final class HeapOrder implements Comparator<Integer> {
+    private final SortKeys m_keys;
+    private final boolean  m_last;
+
+    HeapOrder(SortKeys keys, boolean last) {
+      m_keys = keys;
+      m_last = last;
+    }
+
+    @Override
+    public int compare(Integer o1, Integer o2) {
+      int compare = m_keys.compare(o1, o2);
+      if (compare == 0) {
+        //a parità di chiave, l'ordinamento stabile mette prima l'istanza che
+        //viene prima nella lista
+        compare = o1.intValue() < o2.intValue() ? -1 : (o1.intValue() == o2.intValue() ? 0 : 1);
+      }
+      return m_last ? compare : -compare;
+    }
+  }
+
+  /**
+   * Chiavi di ordinamento delle istanze di una lista, una colonna per ogni
+   * campo dell'ordinamento; confronta le posizioni delle istanze nella lista.
+   */
+  private static final class SortKeys implements Comparator<Integer> {
+    private static final byte K_LONG    = 0;
+    private static final byte K_DOUBLE  = 1;
+    private static final byte K_RANK    = 2;
+    private static final byte K_STRING  = 3;
+    private static final byte K_DECIMAL = 4;
+    private static final byte K_OBJECT  = 5;
+
+    private final byte[]      m_kinds;
+    /** chiavi di ogni campo: long[], double[], int[] oppure Object[] */
+    private final Object[]    m_columns;
+    /** per ogni campo, true per le istanze con valore null */
+    private final boolean[][] m_nulls;
+    private final int         m_factor;
+
+    SortKeys(int fields, int size, int factor) {
+      m_kinds = new byte[fields];
+      m_columns = new Object[fields];
+      m_nulls = new boolean[fields][size];
+      m_factor = factor;
+    }
+
+    /**
+     * Calcola le chiavi di un campo dai suoi valori, scegliendo la
+     * rappresentazione più compatta che dà lo stesso ordinamento di
+     * {@link GroupComparator#compare(Group, Group)}.
+     * 
+     * @param stringModel
+     *          modello del campo se è un campo stringa, altrimenti null
+     */
+    void setColumn(int j, Object[] values, DataFieldModel stringModel, boolean caseSensitive) {
+      boolean allLong = true;
+      boolean allDouble = true;
+      boolean allNumber = true;
+      boolean allString = stringModel != null;
+      for (int i = 0; i < values.length; i++) {
+        Object v = values[i];
+        if (v == null) {
+          m_nulls[j][i] = true;
+          continue;
+        }
+        allLong &= v instanceof Long || v instanceof Integer || v instanceof Short || v instanceof Byte;
+        allDouble &= v instanceof Double;
+        allNumber &= v instanceof Number;
+        allString &= v instanceof String;
+      }
+      int n = values.length;
+      if (allString) {
+        StringDictionary dict = stringModel.getDictionary();
+        int[] ranks = dict == null ? null : new int[n];
+        for (int i = 0; i < n && ranks != null; i++) {
+          if (values[i] != null && (ranks[i] = dict.rank((String) values[i], caseSensitive)) < 0) {
+            ranks = null;
+          }
+        }
+        if (ranks != null) {
+          m_kinds[j] = K_RANK;
+          m_columns[j] = ranks;
+        } else {
+          for (int i = 0; i < n; i++) {
+            if (values[i] != null && !caseSensitive) {
+              values[i] = ((String) values[i]).toLowerCase();
+            }
+          }
+          m_kinds[j] = K_STRING;
+          m_columns[j] = values;
+        }
+      } else if (allNumber && allLong) {
+        long[] longs = new long[n];
+        for (int i = 0; i < n; i++) {
+          if (values[i] != null) {
+            longs[i] = ((Number) values[i]).longValue();
+          }
+        }
+        m_kinds[j] = K_LONG;
+        m_columns[j] = longs;
+      } else if (allNumber && allDouble) {
+        double[] doubles = new double[n];
+        for (int i = 0; i < n; i++) {
+          if (values[i] != null) {
+            doubles[i] = ((Double) values[i]).doubleValue();
+          }
+        }
+        m_kinds[j] = K_DOUBLE;
+        m_columns[j] = doubles;
+      } else if (allNumber) {
+        for (int i = 0; i < n; i++) {
+          if (values[i] != null) {
+            values[i] = new BigDecimal(values[i].toString());
+          }
+        }
+        m_kinds[j] = K_DECIMAL;
+        m_columns[j] = values;
+      } else {
+        m_kinds[j] = K_OBJECT;
+        m_columns[j] = values;
+      }
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public int compare(Integer o1, Integer o2) {
+      int i1 = o1.intValue();
+      int i2 = o2.intValue();
+      for (int j = 0; j < m_kinds.length; j++) {
+        int compare;
+        boolean null1 = m_nulls[j][i1];
+        boolean null2 = m_nulls[j][i2];
+        if (null1 || null2) {
+          compare = null1 == null2 ? 0 : (null1 ? -1 : 1);
+        } else {
+          switch (m_kinds[j]) {
+            case K_LONG: {
+              long[] c = (long[]) m_columns[j];
+              compare = c[i1] < c[i2] ? -1 : (c[i1] == c[i2] ? 0 : 1);
+              break;
+            }
+            case K_DOUBLE: {
+              double[] c = (double[]) m_columns[j];
+              compare = Double.compare(c[i1], c[i2]);
+              break;
+            }
+            case K_RANK: {
+              int[] c = (int[]) m_columns[j];
+              compare = c[i1] < c[i2] ? -1 : (c[i1] == c[i2] ? 0 : 1);
+              break;
+            }
+            case K_STRING:
+            case K_DECIMAL: {
+              Object[] c = (Object[]) m_columns[j];
+              compare = ((Comparable) c[i1]).compareTo(c[i2]);
+              break;
+            }
+            default: {
+              Object[] c = (Object[]) m_columns[j];
+              Object v1 = c[i1];
+              Object v2 = c[i2];
+              if (v1 instanceof Number && v2 instanceof Number) {
+                compare = NUMBER_COMPARATOR.compare((Number) v1, (Number) v2);
+              } else if (v1 instanceof Comparable<?> && v2 instanceof Comparable<?>) {
+                compare = ((Comparable) v1).compareTo(v2);
+              } else {
+                compare = 0;
+              }
+            }
+          }
+        }
+        if (compare != 0) {
+          return compare * m_factor;
+        }
+      }
+      return 0;
+    }
+  }
+
+  /**
+   * Confronta due valori stringa dello stesso campo: se entrambi sono nel
+   * dizionario del campo (vedi {@link StringDictionary}) confronta le loro
+   * posizioni nell'ordinamento del dizionario, altrimenti le stringhe.
+   */
+  private int compareStrings(DataFieldModel model, String s1, String s2) {
+    StringDictionary dict = model.getDictionary();
+    if (dict != null) {
+      int r1 = dict.rank(s1, m_caseSensitive);
+      int r2 = r1 < 0 ? -1 : dict.rank(s2, m_caseSensitive);
+      if (r2 >= 0) {
+        return r1 < r2 ? -1 : (r1 == r2 ? 0 : 1);
+      }
+    }
+    return m_caseSensitive ? s1.compareTo(s2) : s1.toLowerCase().compareTo(s2.toLowerCase());
+  }
+
+  private DataField getCampo(Group g, String nomeCampo) throws GroupException {
+    DataField campo = g.getField(nomeCampo);
+    if (campo == null) {
+      throw new GroupException("Il campo '" + nomeCampo + "' non esiste nel gruppo " + g.getName());
+    }
+    return campo;
+  }
+
+  private Object getCampoValue(DataField campo) {
+    //per evitare NullPointerException, se il campo non esiste torno stringa vuota
+    if (campo.isEmptyNullOrZero()) {
+      return null;
+    }
+    if ( !campo.isString()) {
+      return campo.getValue();
+    }
+    return campo.getAsStringSafe();
+  }
+}
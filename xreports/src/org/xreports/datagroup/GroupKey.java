@@ -0,0 +1,218 @@
+package org.xreports.datagroup;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+
+/**
+ * Chiave di un'istanza di gruppo: valori dei campi chiave, nell'ordine, con
+ * codice hash precalcolato. <br/>
+ * L'uguaglianza tiene conto del tipo dei valori:
+ * <ul>
+ * <li>i numeri sono uguali se hanno lo stesso valore, indipendentemente dalla
+ * classe e dalla scala (<tt>5</tt>, <tt>5L</tt> e <tt>5.00</tt> sono la stessa
+ * chiave)</li>
+ * <li>le date sono uguali se indicano lo stesso istante</li>
+ * <li>gli altri valori, stringhe comprese, sono confrontati con
+ * <tt>equals</tt></li>
+ * <li>null è uguale solo a null</li>
+ * </ul>
+ * Una {@link GroupList} usa una sola chiave <i>sonda</i>, che viene riempita
+ * con i valori di ogni riga ({@link GroupModel#readKey(java.util.Map, GroupKey)})
+ * e usata per cercare l'istanza; solo quando l'istanza non esiste la sonda
+ * viene copiata ({@link #copy()}) e memorizzata.
+ */
+final class GroupKey implements Serializable {
+  private static final long       serialVersionUID = -2630532312271632284L;
+
+  private static final BigDecimal LONG_MIN         = BigDecimal.valueOf(Long.MIN_VALUE);
+  private static final BigDecimal LONG_MAX         = BigDecimal.valueOf(Long.MAX_VALUE);
+
+  private final Object[]          m_values;
+  private int                     m_hash;
+
+  /**
+   * Crea una chiave sonda con la quantità di valori passata.
+   */
+  GroupKey(int size) {
+    m_values = new Object[size];
+  }
+
+  private GroupKey(Object[] values, int hash) {
+    m_values = values;
+    m_hash = hash;
+  }
+
+  /**
+   * @return array dei valori, da riempire prima di {@link #rehash()}
+   */
+  Object[] getValues() {
+    return m_values;
+  }
+
+  /**
+   * Ricalcola il codice hash dopo aver cambiato i valori.
+   *
+   * @return questa chiave
+   */
+  GroupKey rehash() {
+    int h = 1;
+    for (Object v : m_values) {
+      h = 31 * h + hash(v);
+    }
+    m_hash = h;
+    return this;
+  }
+
+  /**
+   * @return copia immutabile di questa chiave
+   */
+  GroupKey copy() {
+    return new GroupKey(m_values.clone(), m_hash);
+  }
+
+  /**
+   * Confronta i valori con quelli della chiave passata senza usare il codice
+   * hash, che può non essere ancora calcolato.
+   */
+  boolean sameValues(GroupKey other) {
+    if (other.m_values.length != m_values.length) {
+      return false;
+    }
+    for (int i = 0; i < m_values.length; i++) {
+      if ( !same(m_values[i], other.m_values[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    return m_hash;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if ( !(obj instanceof GroupKey)) {
+      return false;
+    }
+    GroupKey k = (GroupKey) obj;
+    return k.m_hash == m_hash && sameValues(k);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < m_values.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append(m_values[i]);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Indica se il valore passato è un numero intero rappresentabile con un
+   * long, cioè se può essere chiave di una {@link LongGroupMap}.
+   */
+  static boolean isLongKey(Object v) {
+    if (v instanceof Long || v instanceof Integer || v instanceof Short || v instanceof Byte) {
+      return true;
+    }
+    if (v instanceof BigDecimal) {
+      BigDecimal bd = (BigDecimal) v;
+      if (bd.signum() == 0) {
+        return true;
+      }
+      if (bd.scale() > 0) {
+        bd = bd.stripTrailingZeros();
+      }
+      return bd.scale() <= 0 && bd.compareTo(LONG_MIN) >= 0 && bd.compareTo(LONG_MAX) <= 0;
+    }
+    if (v instanceof BigInteger) {
+      return ((BigInteger) v).bitLength() < 64;
+    }
+    if (v instanceof Double || v instanceof Float) {
+      //(long) d satura a Long.MAX_VALUE, che come double vale 2^63
+      double d = ((Number) v).doubleValue();
+      return d == (long) d && d != (double) Long.MAX_VALUE;
+    }
+    return false;
+  }
+
+  private static boolean isIntegral(Number n) {
+    return n instanceof Long || n instanceof Integer || n instanceof Short || n instanceof Byte;
+  }
+
+  private static int hash(Object v) {
+    if (v == null) {
+      return 0;
+    }
+    if (v instanceof Number) {
+      //i numeri uguali devono avere lo stesso hash qualunque sia la loro classe
+      if (isLongKey(v)) {
+        return hashLong(((Number) v).longValue());
+      }
+      long bits = Double.doubleToLongBits(((Number) v).doubleValue());
+      return (int) (bits ^ (bits >>> 32));
+    }
+    if (v instanceof Date) {
+      return hashLong(((Date) v).getTime());
+    }
+    return v.hashCode();
+  }
+
+  private static int hashLong(long l) {
+    return (int) (l ^ (l >>> 32));
+  }
+
+  private static boolean same(Object a, Object b) {
+    if (a == b) {
+      return true;
+    }
+    if (a == null || b == null) {
+      return false;
+    }
+    if (a instanceof Number && b instanceof Number) {
+      Number n1 = (Number) a;
+      Number n2 = (Number) b;
+      if (isIntegral(n1) && isIntegral(n2)) {
+        return n1.longValue() == n2.longValue();
+      }
+      if ((n1 instanceof Double || n1 instanceof Float) && (n2 instanceof Double || n2 instanceof Float)) {
+        return Double.compare(n1.doubleValue(), n2.doubleValue()) == 0;
+      }
+      //classi diverse: confronto esatto
+      BigDecimal d1 = toBigDecimal(n1);
+      BigDecimal d2 = toBigDecimal(n2);
+      return d1 != null && d2 != null ? d1.compareTo(d2) == 0 : a.equals(b);
+    }
+    if (a instanceof Date && b instanceof Date) {
+      return ((Date) a).getTime() == ((Date) b).getTime();
+    }
+    return a.equals(b);
+  }
+
+  private static BigDecimal toBigDecimal(Number n) {
+    if (n instanceof BigDecimal) {
+      return (BigDecimal) n;
+    }
+    if (n instanceof BigInteger) {
+      return new BigDecimal((BigInteger) n);
+    }
+    if (isIntegral(n)) {
+      return BigDecimal.valueOf(n.longValue());
+    }
+    double d = n.doubleValue();
+    if (Double.isNaN(d) || Double.isInfinite(d)) {
+      return null;
+    }
+    return new BigDecimal(d);
+  }
+}
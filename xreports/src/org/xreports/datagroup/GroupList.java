@@ -1,479 +1,846 @@
-/**
- * 
- */
-package org.xreports.datagroup;
-
-import java.io.IOException;
-import java.io.ObjectOutputStream;
-import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
-
-import org.xreports.expressions.symbols.EvaluateException;
-import org.xreports.expressions.symbols.Evaluator;
-import org.xreports.expressions.symbols.Field;
-import org.xreports.expressions.symbols.Symbol;
-import org.xreports.engine.DataException;
-import org.xreports.engine.ResolveException;
-
-/**
- * Mantiene una lista di {@link Group} appartenentio allo stesso modello. Le
- * caratteristiche della classe sono:
- * <ul>
- * <li>ha un {@link GroupModel} di riferimento (vedi {@link #getModel()} ), che
- * verr usato per creare nuove istanze con {@link #addGroupInstance(String)}</li>
- * <li>ha un riferimento al gruppo radice, {@link RootGroup}, padre dell'intera
- * gerarchia dei gruppi</li>
- * <li>appartiene ad un gruppo ( {@link #getParentGroup()} ) di cui gestisce i
- * gruppi figli istanze del modello di riferimento dato da {@link #getModel()}</li>
- * </ul>
- */
-public class GroupList implements Evaluator, Serializable {
-  /**
-   * 
-   */
-  private static final long    serialVersionUID = 7110107397596002717L;
-  /**
-   * mappa che mantiene l'associazione chiave<->gruppo:
-   * <ul>
-   * <li>key: rappresentazione chiave (vedi {@link GroupModel#buildKey(Map)})</li>
-   * <li>value: gruppo dati corrispondente alla chiave</li>
-   * </ul>
-   * */
-  private Map<String, Group>   m_mappaDati      = new LinkedHashMap<String, Group>();
-  /** lista di tutti i gruppi mantenuti in questa lista */
-  private List<Group>          m_listaDati      = new ArrayList<Group>();
-
-  //  private int                m_nestIndex = 0;
-  //  /** usato per innestare correttamente il gruppo nel XML */
-  //  private String             m_tabs      = "";
-
-  private RootGroup            m_root;
-  private Group                m_parent;
-
-  /** modello di tutte le istanze che faranno parte di questa lista */
-  private transient GroupModel m_model          = null;
-  /** identificativo univoco del mio modello di gruppo */
-  private Integer              m_modelId;
-
-  /** indica se il subreport  gi stato caricato */
-  private boolean              m_subreportLoaded;
-
-  public static transient int  s_listCount      = 0;
-
-  GroupList(RootGroup root, GroupModel model, Group parent) {
-    m_root = root;
-    m_parent = parent;
-    m_model = model;
-    m_modelId = model.getModelId();
-  }
-
-  /**
-   * Metodo di passaggio dei valori.
-   * 
-   * Se questa lista possiede un'istanza di gruppo con la stessa chiave dei
-   * valori passati, le passa la mappa dei dati; altrimenti crea una nuova
-   * istanza figlia e poi le passa i dati. Se il modello relativo a questa lista
-   * ha il flag "all key" impostato ( {@link GroupModel#isAllKey()} ), viene
-   * sempre creata un'istanza figlia, in quanto ogni record di dati  un'istanza
-   * diversa.
-   * 
-   * @param values
-   *          mappa dei dati da assegnare ai gruppi
-   * @throws GroupException
-   * @throws EvaluateException 
-   * @throws DataException 
-   */
-  public void assignData(Map<String, Object> values) throws GroupException, EvaluateException {
-    if (getModel().isSubreport()) {
-      if (!isSubreportLoaded()) {
-        caricaSubreport();        
-      }
-    }
-    else {
-      assignToGroup(values);      
-    }
-    
-  }
-
-  /**
-   * Assegna i dati ai gruppi mantenuti da questa lista. L'assegnamento  fatto in questo modo:
-   * <ol>
-   *   <li>Costruisco la stringa chiave in base ai dati passati, utilizzando i dati del modello di questo GroupList</li>
-   *   <li>Cerco il gruppo con la stringa passata e <br/>
-   *       * se c', assegno a lui i dati <br/>
-   *       * se non c', creo un nuovo gruppo e gli assegno i dati <br/>
-   *   </li>
-   * </ol>
-   * @param values mappa nome->valore con i dati da assegnare
-   * 
-   * @throws GroupException
-   * @throws DataException
-   * @throws EvaluateException
-   */
-  private void assignToGroup(Map<String, Object> values) throws GroupException, EvaluateException {
-    Group g = null;
-    String key = null;
-    boolean bAddGroup = false;
-    if (getModel().isAllKey()) {
-      bAddGroup = true;
-    } else {
-      //controllo se la chiave c' gi
-      key = getModel().buildKey(values);
-      if (key == null && !getModel().isNullKeyAllowed()) {
-        //la chiave null non  accettata dal modello: esco senza fare nulla,
-        //i dati vengono scartati
-        return;
-      }
-      g = m_mappaDati.get(key);
-      bAddGroup = (g == null);
-    }
-
-    if ( !filterEvaluate(values)) {
-      //il filtro non ha accettato i dati --> esco senza fare nulla
-      return;
-    }
-
-    if (bAddGroup) {
-      g = addGroupInstance(key);
-    }
-    if (g != null) {
-      g.assignData(values);
-    }    
-  }
-  
-  @SuppressWarnings("unchecked")
-  private void caricaSubreport() throws GroupException, EvaluateException {
-    Object queryResult = getModel().resolveSubreportData(getParentGroup());
-    if (queryResult == null || isSubreportLoaded()) {
-      return;
-    }
-    try {
-      if (queryResult instanceof String) {
-        loadQuery(queryResult.toString());
-      } else if (queryResult instanceof List<?>) {
-        //lista dati fornita dal metodo utente: non posso azzerarla 
-        loadDataList((List<HashMap<String, Object>>) queryResult, false);
-      }
-      else {
-        throw new GroupException("Nel subreport %s il simbolo query ritorna un tipo di oggetto non previsto: %s", 
-            getModel().getName(), queryResult.getClass().getName());        
-      }
-      m_subreportLoaded = true;
-    } catch (GroupException e) {
-      throw e;
-    } catch (Exception e) {
-      e.printStackTrace();
-      throw new GroupException(e, "errore inaspettato in caricamento subreport %s", getModel().getName());
-    } 
-  }
-
-  private int loadQuery(String sql) throws GroupException {
-    int recordsInDB = 0;
-    try {
-      List<HashMap<String, Object>> righe = getModel().getStampa().getDatabase().getRows(sql, -1);
-      loadDataList(righe, true);
-      righe.clear();
-    } catch (GroupException e) {
-      throw e;
-    } catch (Exception e) {
-      throw new GroupException(e, "Errore in caricamento dei dati SQL");
-    }
-    return recordsInDB;
-  }
-
-  /**
-   * Carica i dati sotto forma di lista di mappe nella struttura dati
-   * gruppi/campi.
-   * 
-   * @param righe
-   *          dati da caricare
-   * @param azzeraDati
-   *          flga che indica se azzerare i dati (per recuperare memoria); la
-   *          lista e ogni mappa viene azzerata
-   * @return quantit di record caricati
-   * @throws DataException
-   */
-  protected void loadDataList(List<HashMap<String, Object>> righe, boolean azzeraDati) throws GroupException {
-    try {
-      for (HashMap<String, Object> riga : righe) {
-        assignToGroup(riga);
-        if (azzeraDati)
-          riga.clear();
-      }
-    } catch (GroupException e) {
-      throw e;
-    } catch (Exception e) {
-      throw new GroupException(e, "Errore in caricamento dei dati SQL");
-    }
-    if (azzeraDati)
-      righe.clear();
-  }
-
-  private synchronized Group addGroupInstance(String key) {
-    Group g = getModel().newInstance(m_root, this);
-    m_listaDati.add(g);
-    m_mappaDati.put(key, g);
-    g.setIndex(m_listaDati.size() - 1);
-    return g;
-  }
-
-  /**
-   * dati correntemente in analisi da parte del filtro: servono per la
-   * valutazione dei campi
-   */
-  private Map<String, Object> m_currentValues = null;
-
-  /**
-   * Metodo chiamato ad ogni assegnamento di dati: se  stato impostato un
-   * filtro, ritorna true se i dati correnti soddisfano la condizione, false
-   * altrimenti.
-   * 
-   * @param values
-   *          valori su cui opera il filtro
-   * @return true se filtro soddisfatto, false altrimenti; in questo secondo
-   *         caso i dati non vengono messi in nessun gruppo e scartati
-   * @throws GroupException
-   *           nel caso di problemi nella valutazione del filtro
-   */
-  private boolean filterEvaluate(Map<String, Object> values) throws GroupException {
-    boolean bInclude = true;
-    if (getModel().getFilterInclude() != null) {
-      try {
-        m_currentValues = values;
-        Object ret = getModel().getFilterInclude().evaluate(this);
-        if (ret instanceof Boolean) {
-          bInclude = ((Boolean) ret).booleanValue();
-        } else {
-          if (ret == null) {
-            throw new GroupException("assignData, errore in valutazione filtro: invece di un boolean ho un risultato null");
-          }
-          throw new GroupException("assignData, errore in valutazione filtro: invece di un boolean ho un risultato "
-              + ret.getClass().getName());
-        }
-      } catch (Exception e) {
-        throw new GroupException("assignData, errore in valutazione filtro: " + e.getMessage());
-      }
-    }
-    m_currentValues = null;
-    return bInclude;
-  }
-
-  //  public int getNestIndex() {
-  //    return m_nestIndex;
-  //  }
-  //
-  //  void setNestIndex(int n) {
-  //    m_nestIndex = n;
-  //    m_tabs = ciscoop.util.Text.getChars('\t', m_nestIndex);
-  //  }
-  //
-  //  public String getTabs() {
-  //    return m_tabs;
-  //  }
-
-  /**
-   * Ritorna true se questa lista di gruppi  di istanze del gruppo col nome
-   * passato.
-   * 
-   * @param name
-   *          nome gruppo
-   */
-  public boolean is(String name) {
-    return getModel().getName().equalsIgnoreCase(name);
-  }
-
-  /**
-   * Ritorna la lista di tutte le istanze di gruppo mantenute da questo
-   * GroupList
-   * 
-   * @return lista dei gruppi mantenuta da questo GroupList: se non ci sono
-   *         gruppi torna una lista vuota
-   */
-  public List<Group> getInstances() {
-    return m_listaDati;
-  }
-
-  /**
-   * Ritorna la index.esima istanza del gruppo mantenuto da quesla lista.
-   * @param index indice gruppo
-   * @return gruppo richiesto; se l'indice  errato emette una {@link IndexOutOfBoundsException} .
-   */
-  public Group getInstance(int index) {
-    return m_listaDati.get(index);
-  }
-
-  /**
-   * Ritorna la prima istanza di gruppo mantenuta da questo GroupList.
-   * 
-   * @return il primo gruppo di questa lista
-   */
-  public Group getFirst() {
-    if (m_listaDati.size() > 0) {
-      return m_listaDati.get(0);
-    }
-    return null;
-  }
-
-  /**
-   * Ritorna l'ultimo gruppo, cio quello alla fine della linked list che
-   * mantiene tutte le istanze di questo tipo di gruppo.
-   * 
-   * @return l'ultimo gruppo
-   */
-  public Group getLast() {
-    if (m_listaDati.size() > 0) {
-      return m_listaDati.get(m_listaDati.size() - 1);
-    }
-    return null;
-  }
-
-  /**
-   * Quantit totale di istanze di questa tipologia di gruppo.
-   * 
-   * @return qta istanze
-   */
-  public int getCount() {
-    return m_listaDati.size();
-  }
-
-  public List<Group> getSublist(int fromIndex, int toIndex) {
-    try {
-      return m_listaDati.subList(fromIndex, toIndex);
-    } catch (Exception e) {
-      //se gli indici sono errati, per adesso torno semplicemente lista vuota
-      return new ArrayList<Group>();
-    }
-  }
-
-  public String getPath() {
-    String path = "";
-    if (m_parent != null)
-      path = m_parent.getPath() + ".";
-    return path;
-  }
-
-  public String getKeysPath() {
-    String path = "";
-    if (m_parent != null)
-      path = m_parent.getKeysPath() + ".";
-    return path;
-  }
-
-  /**
-   * Ritorna il gruppo padre di questa lista.
-   */
-  public Group getParentGroup() {
-    return m_parent;
-  }
-
-  public void destroy() {
-    for (Group g : m_mappaDati.values()) {
-      g.destroy();
-    }
-    m_mappaDati.clear();
-    m_mappaDati = null;
-    m_listaDati.clear();
-    m_listaDati = null;
-    m_root = null;
-    m_parent = null;
-    m_model = null;
-  }
-
-  //  public StringBuffer toXML() {
-  //    StringBuffer sXML = new StringBuffer();
-  //    for (Group g : m_listaDati) {
-  //      sXML.append(g.toXML());
-  //    }
-  //    return sXML;
-  //  }
-
-  public GroupModel getModel() {
-    if (m_model == null) {
-      m_model = getParentGroup().getRootGroup().getModelFromCache(m_modelId);
-    }
-    return m_model;
-  }
-
-  /*
-   * (non-Javadoc)
-   * @see java.lang.Object#toString()
-   */
-  @Override
-  public String toString() {
-    return "GroupList " + getModel().getName() + ", #elems " + m_listaDati.size();
-  }
-
-  /*
-   * (non-Javadoc)
-   * @see
-   * ciscoop.expressions.symbols.Evaluator#evaluate(ciscoop.expressions.symbols
-   * .Symbol)
-   */
-  @Override
-  public Object evaluate(Symbol symbol) throws ResolveException {
-    //Si deve usare questa classe per valutare i campi. Infatti solo un subset
-    //dei campi  accettabile. Ad esempio non si possono usare campi con la 
-    //specifica del gruppo: i campi sono solo di questo gruppo.
-    //Inoltre i valori attuali dei campi ancora non sono assegnati al gruppo, 
-    //quindi uso la mappa che mi arriva direttamente dalla query.
-
-    try {
-      if (symbol.isField()) {
-        Field field = (Field) symbol;
-        return calcFieldValue(field);
-      }
-
-      Evaluator eval = getModel().getFilterEvaluator();
-      if (symbol.isConstant()) {
-        return eval.evaluate(symbol);
-      } else if (symbol.isMethodCall()) {
-        return eval.evaluate(symbol);
-      }
-    } catch (GroupException e) {
-      throw new ResolveException(e);
-    }
-
-    return null;
-  }
-
-  private Object calcFieldValue(Field field) throws GroupException {
-    String nomeGruppo = field.getGroup();
-    if (nomeGruppo == null) {
-      nomeGruppo = "";
-    }
-    if (nomeGruppo.length() > 0) {
-      throw new GroupException("%s: non si pu specificare un nome di gruppo in un campo che fa parte del filtro.", field.toString());
-    }
-    if (m_currentValues == null) {
-      //qui non si dovrebbe mai arrivare ma... non si sa mai!
-      throw new GroupException("%s: errore imprevisto: i dati sono null!", field.toString());
-    }
-
-    String nomeCampo = field.getField();
-    if ( !m_currentValues.containsKey(nomeCampo)) {
-      nomeCampo = nomeCampo.toLowerCase();
-      if ( !m_currentValues.containsKey(nomeCampo)) {
-        nomeCampo = nomeCampo.toUpperCase();
-        if ( !m_currentValues.containsKey(nomeCampo)) {
-          throw new GroupException("%s: il campo definito nel filtro non  presente nei dati di input.", field.toString());
-        }
-      }
-    }
-    Object value = m_currentValues.get(nomeCampo);
-
-    return value;
-  }
-
-  private void writeObject(ObjectOutputStream out) throws IOException {
-    s_listCount++;
-    out.defaultWriteObject();
-  }
-
-  public boolean isSubreportLoaded() {
-    return m_subreportLoaded;
-  }
-}
+/**
+ * 
+ */
+package org.xreports.datagroup;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.xreports.datagroup.DataFieldModel.TipoCampo;
+import org.xreports.expressions.symbols.EvaluateException;
+import org.xreports.expressions.symbols.Evaluator;
+import org.xreports.expressions.symbols.Field;
+import org.xreports.expressions.symbols.Symbol;
+import org.xreports.engine.DataException;
+import org.xreports.engine.ResolveException;
+import org.xreports.db.RowHandler;
+
+/**
+ * Mantiene una lista di {@link Group} appartenentio allo stesso modello. Le
+ * caratteristiche della classe sono:
+ * <ul>
+ * <li>ha un {@link GroupModel} di riferimento (vedi {@link #getModel()} ), che
+ * verrà usato per creare nuove istanze con {@link #addGroupInstance(GroupKey)}</li>
+ * <li>ha un riferimento al gruppo radice, {@link RootGroup}, padre dell'intera
+ * gerarchia dei gruppi</li>
+ * <li>appartiene ad un gruppo ( {@link #getParentGroup()} ) di cui gestisce i
+ * gruppi figli istanze del modello di riferimento dato da {@link #getModel()}</li>
+ * </ul>
+ */
+public class GroupList implements Evaluator, Serializable, RowHandler {
+  /**
+   * 
+   */
+  private static final long    serialVersionUID = 7110107397596002717L;
+  /**
+   * mappa che mantiene l'associazione chiave<->gruppo:
+   * <ul>
+   * <li>key: valori dei campi chiave (vedi {@link GroupKey})</li>
+   * <li>value: gruppo dati corrispondente alla chiave</li>
+   * </ul>
+   * */
+  private Map<GroupKey, Group> m_mappaDati      = new HashMap<GroupKey, Group>();
+  /**
+   * associazione chiave<->gruppo per le chiavi di un solo campo con valore
+   * intero; creata al primo uso
+   */
+  private LongGroupMap         m_mappaLong;
+  /** lista di tutti i gruppi mantenuti in questa lista */
+  private List<Group>          m_listaDati      = new ArrayList<Group>();
+
+  //  private int                m_nestIndex = 0;
+  //  /** usato per innestare correttamente il gruppo nel XML */
+  //  private String             m_tabs      = "";
+
+  private RootGroup            m_root;
+  private Group                m_parent;
+
+  /** modello di tutte le istanze che faranno parte di questa lista */
+  private transient GroupModel m_model          = null;
+  /** identificativo univoco del mio modello di gruppo */
+  private Integer              m_modelId;
+
+  /** indica se il subreport è già stato caricato */
+  private boolean              m_subreportLoaded;
+  /**
+   * indica se il subreport è accodato per il caricamento a blocchi o per il
+   * caricamento in parallelo
+   */
+  private boolean              m_subreportQueued;
+
+  /** chiave sonda riusata per leggere i valori dei campi chiave di ogni riga */
+  private transient GroupKey   m_probe;
+  /**
+   * modello con righe ordinate per chiave: chiave e istanza dell'ultima riga
+   * assegnata (vedi {@link GroupModel#setPresorted(boolean)})
+   */
+  private transient GroupKey   m_lastKey;
+  private transient Group      m_lastGroup;
+
+  /**
+   * specifica dell'ordinamento in cui si trova ora la lista (vedi
+   * {@link #sort(GroupComparator)}); azzerata ad ogni modifica della lista o
+   * dei valori delle sue istanze
+   */
+  private transient String     m_sortedBy;
+  /**
+   * selezione dei primi o degli ultimi N già calcolata (vedi
+   * {@link #getLimitedInstances(GroupComparator, int, boolean, String)}) e
+   * sua specifica; azzerate ad ogni modifica della lista o dei valori delle
+   * sue istanze
+   */
+  private transient List<Group> m_limited;
+  private transient String     m_limitedBy;
+  /**
+   * istanza che riassume le istanze escluse dall'ultima selezione dei primi o
+   * ultimi N; non fa parte della lista e va distrutta quando la selezione
+   * viene rifatta o la lista distrutta. Non viene distrutta da
+   * {@link #clearSortedOrders()}, perché chi ha chiesto la selezione può
+   * ancora stamparla
+   */
+  private transient Group      m_others;
+
+  public static transient int  s_listCount      = 0;
+
+  GroupList(RootGroup root, GroupModel model, Group parent) {
+    m_root = root;
+    m_parent = parent;
+    m_model = model;
+    m_modelId = model.getModelId();
+  }
+
+  /**
+   * Metodo di passaggio dei valori.
+   * 
+   * Se questa lista possiede un'istanza di gruppo con la stessa chiave dei
+   * valori passati, le passa la mappa dei dati; altrimenti crea una nuova
+   * istanza figlia e poi le passa i dati. Se il modello relativo a questa lista
+   * ha il flag "all key" impostato ( {@link GroupModel#isAllKey()} ), viene
+   * sempre creata un'istanza figlia, in quanto ogni record di dati è un'istanza
+   * diversa.
+   * 
+   * @param values
+   *          mappa dei dati da assegnare ai gruppi
+   * @throws GroupException
+   * @throws EvaluateException 
+   * @throws DataException 
+   */
+  public void assignData(Map<String, Object> values) throws GroupException, EvaluateException {
+    if (getModel().isSubreport()) {
+      if (getModel().isSubreportBatched()) {
+        if (!isSubreportLoaded() && !m_subreportQueued) {
+          m_subreportQueued = true;
+          getModel().enqueueSubreport(this);
+        }
+      } else if (getModel().isSubreportPrefetched()) {
+        if (!isSubreportLoaded() && !m_subreportQueued) {
+          m_subreportQueued = true;
+          getModel().enqueuePrefetch(this);
+        }
+      } else if (getModel().isSubreportLazy()) {
+        //caricato in generazione (vedi SubreportWindow)
+      } else if (!isSubreportLoaded()) {
+        caricaSubreport();        
+      }
+    }
+    else {
+      assignToGroup(values);      
+    }
+    
+  }
+
+  /**
+   * Assegna i dati ai gruppi mantenuti da questa lista. L'assegnamento è fatto in questo modo:
+   * <ol>
+   *   <li>Costruisco la stringa chiave in base ai dati passati, utilizzando i dati del modello di questo GroupList</li>
+   *   <li>Cerco il gruppo con la stringa passata e <br/>
+   *       * se c'è, assegno a lui i dati <br/>
+   *       * se non c'è, creo un nuovo gruppo e gli assegno i dati <br/>
+   *   </li>
+   * </ol>
+   * @param values mappa nome->valore con i dati da assegnare
+   * 
+   * @throws GroupException
+   * @throws DataException
+   * @throws EvaluateException
+   */
+  private void assignToGroup(Map<String, Object> values) throws GroupException, EvaluateException {
+    Group g = null;
+    boolean bAddGroup = false;
+    boolean newKey = false;
+    if (getModel().isAllKey()) {
+      bAddGroup = true;
+    } else {
+      GroupKey probe = getProbe();
+      if ( !getModel().readKey(values, probe)) {
+        //la chiave null non è accettata dal modello: esco senza fare nulla,
+        //i dati vengono scartati
+        return;
+      }
+      if (getModel().isPresorted() && m_lastGroup != null && probe.sameValues(m_lastKey)) {
+        //stessa chiave della riga precedente: stessa istanza, senza cercarla
+        g = m_lastGroup;
+      } else {
+        //controllo se la chiave c'è già
+        g = findGroup(probe);
+        bAddGroup = (g == null);
+        newKey = getModel().isPresorted();
+      }
+    }
+
+    if ( !filterEvaluate(values)) {
+      //il filtro non ha accettato i dati --> esco senza fare nulla
+      return;
+    }
+    if (newKey && g != null && g != m_lastGroup) {
+      throw new GroupException("Il gruppo %s è dichiarato ordinato ma le righe non sono ordinate per chiave: la chiave '%s' ricompare dopo altre chiavi",
+          getModel().getName(), m_probe.toString());
+    }
+
+    if (bAddGroup) {
+      g = addGroupInstance(getModel().isAllKey() ? null : m_probe);
+    }
+    if (g != null) {
+      if (newKey) {
+        //la chiave di questa riga diventa quella di riferimento
+        GroupKey tmp = m_lastKey;
+        m_lastKey = m_probe;
+        m_probe = tmp;
+        m_lastGroup = g;
+      }
+      g.assignData(values);
+    }    
+  }
+
+  private GroupKey getProbe() {
+    if (m_probe == null) {
+      m_probe = new GroupKey(getModel().keyCount());
+      m_lastKey = new GroupKey(getModel().keyCount());
+    }
+    return m_probe;
+  }
+
+  /**
+   * Cerca l'istanza con la chiave passata; le chiavi di un solo campo intero
+   * vengono cercate senza calcolarne l'hash.
+   */
+  private Group findGroup(GroupKey probe) {
+    Object[] values = probe.getValues();
+    if (values.length == 1 && GroupKey.isLongKey(values[0])) {
+      return m_mappaLong == null ? null : m_mappaLong.get(((Number) values[0]).longValue());
+    }
+    return m_mappaDati.get(probe.rehash());
+  }
+  
+  @SuppressWarnings("unchecked")
+  private void caricaSubreport() throws GroupException, EvaluateException {
+    Object queryResult = getModel().resolveSubreportData(getParentGroup());
+    if (queryResult == null || isSubreportLoaded()) {
+      return;
+    }
+    try {
+      if (queryResult instanceof String) {
+        SubreportQuery query = getModel().getSubreportQuery(queryResult.toString());
+        loadQuery(query.getSql(), query.bind(getParentGroup()));
+      } else if (queryResult instanceof List<?>) {
+        //lista dati fornita dal metodo utente: non posso azzerarla 
+        loadDataList((List<HashMap<String, Object>>) queryResult, false);
+      }
+      else {
+        throw new GroupException("Nel subreport %s il simbolo query ritorna un tipo di oggetto non previsto: %s", 
+            getModel().getName(), queryResult.getClass().getName());        
+      }
+      m_subreportLoaded = true;
+    } catch (GroupException e) {
+      throw e;
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw new GroupException(e, "errore inaspettato in caricamento subreport %s", getModel().getName());
+    } 
+  }
+
+  /**
+   * Assegna a questa lista una riga letta dal caricamento a blocchi del
+   * subreport (vedi {@link SubreportBatch}) o dal caricamento in parallelo
+   * (vedi {@link SubreportPrefetch}).
+   */
+  void assignBatchRow(Map<String, Object> values) throws GroupException, EvaluateException {
+    assignToGroup(values);
+  }
+
+  /**
+   * Carica il subreport di questa lista, se non è già caricato, eseguendo la
+   * query nel thread chiamante.
+   */
+  void loadSubreport() throws GroupException, EvaluateException {
+    if (!isSubreportLoaded()) {
+      caricaSubreport();
+      m_subreportLoaded = true;
+    }
+  }
+
+  /**
+   * Libera i gruppi del subreport di questa lista, che potrà essere caricato
+   * di nuovo (vedi {@link SubreportWindow}).
+   */
+  synchronized void releaseSubreport() {
+    //gli antenati non devono più contare le istanze eliminate: quando il
+    //subreport viene ricaricato le ricontano
+    for (Group g : m_listaDati) {
+      g.aggregateGroupRemoved();
+      g.destroy();
+    }
+    m_listaDati.clear();
+    clearSortedOrders();
+    releaseOthers();
+    m_mappaDati.clear();
+    if (m_mappaLong != null) {
+      m_mappaLong.clear();
+    }
+    m_lastGroup = null;
+    m_subreportLoaded = false;
+    m_subreportQueued = false;
+  }
+
+  /**
+   * Segnala che il caricamento a blocchi o in parallelo del subreport ha
+   * caricato anche questa lista.
+   */
+  void setSubreportLoaded() {
+    m_subreportLoaded = true;
+  }
+
+  private int loadQuery(String sql, List<Object> params) throws GroupException {
+    int recordsInDB = 0;
+    try {
+      //le righe passano direttamente dal cursore ai gruppi (vedi handleRow)
+      recordsInDB = getModel().getStampa().getDatabase().streamRows(sql, params, -1, this);
+    } catch (GroupException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new GroupException(e, "Errore in caricamento dei dati SQL");
+    }
+    return recordsInDB;
+  }
+
+  /**
+   * Carica i dati sotto forma di lista di mappe nella struttura dati
+   * gruppi/campi.
+   * 
+   * @param righe
+   *          dati da caricare
+   * @param azzeraDati
+   *          flga che indica se azzerare i dati (per recuperare memoria); la
+   *          lista e ogni mappa viene azzerata
+   * @return quantità di record caricati
+   * @throws DataException
+   */
+  protected void loadDataList(List<HashMap<String, Object>> righe, boolean azzeraDati) throws GroupException {
+    try {
+      for (HashMap<String, Object> riga : righe) {
+        assignToGroup(riga);
+        if (azzeraDati)
+          riga.clear();
+      }
+    } catch (GroupException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new GroupException(e, "Errore in caricamento dei dati SQL");
+    }
+    if (azzeraDati)
+      righe.clear();
+  }
+
+  /**
+   * Riceve dal cursore aperto da {@link #loadQuery(String)} una riga alla volta
+   * e la assegna ai gruppi di questa lista.
+   */
+  public boolean handleRow(Map<String, Object> row) throws Exception {
+    assignToGroup(row);
+    return true;
+  }
+
+  /**
+   * Crea una nuova istanza.
+   * 
+   * @param probe
+   *          chiave sonda già cercata con {@link #findGroup(GroupKey)}; null se
+   *          l'istanza non ha chiave
+   */
+  private synchronized Group addGroupInstance(GroupKey probe) {
+    Group g = getModel().newInstance(m_root, this);
+    m_listaDati.add(g);
+    clearSortedOrders();
+    if (probe != null) {
+      Object[] values = probe.getValues();
+      if (values.length == 1 && GroupKey.isLongKey(values[0])) {
+        if (m_mappaLong == null) {
+          m_mappaLong = new LongGroupMap();
+        }
+        m_mappaLong.put(((Number) values[0]).longValue(), g);
+      } else {
+        m_mappaDati.put(probe.copy(), g);
+      }
+    }
+    g.setIndex(m_listaDati.size() - 1);
+    g.aggregateGroupAdded();
+    return g;
+  }
+
+  /**
+   * dati correntemente in analisi da parte del filtro: servono per la
+   * valutazione dei campi
+   */
+  private Map<String, Object> m_currentValues = null;
+
+  /**
+   * Metodo chiamato ad ogni assegnamento di dati: se è stato impostato un
+   * filtro, ritorna true se i dati correnti soddisfano la condizione, false
+   * altrimenti.
+   * 
+   * @param values
+   *          valori su cui opera il filtro
+   * @return true se filtro soddisfatto, false altrimenti; in questo secondo
+   *         caso i dati non vengono messi in nessun gruppo e scartati
+   * @throws GroupException
+   *           nel caso di problemi nella valutazione del filtro
+   */
+  private boolean filterEvaluate(Map<String, Object> values) throws GroupException {
+    boolean bInclude = true;
+    if (getModel().getFilterInclude() != null) {
+      try {
+        m_currentValues = values;
+        Object ret = getModel().getFilterInclude().evaluate(this);
+        if (ret instanceof Boolean) {
+          bInclude = ((Boolean) ret).booleanValue();
+        } else {
+          if (ret == null) {
+            throw new GroupException("assignData, errore in valutazione filtro: invece di un boolean ho un risultato null");
+          }
+          throw new GroupException("assignData, errore in valutazione filtro: invece di un boolean ho un risultato "
+              + ret.getClass().getName());
+        }
+      } catch (Exception e) {
+        throw new GroupException("assignData, errore in valutazione filtro: " + e.getMessage());
+      }
+    }
+    m_currentValues = null;
+    return bInclude;
+  }
+
+  //  public int getNestIndex() {
+  //    return m_nestIndex;
+  //  }
+  //
+  //  void setNestIndex(int n) {
+  //    m_nestIndex = n;
+  //    m_tabs = ciscoop.util.Text.getChars('\t', m_nestIndex);
+  //  }
+  //
+  //  public String getTabs() {
+  //    return m_tabs;
+  //  }
+
+  /**
+   * Ritorna true se questa lista di gruppi è di istanze del gruppo col nome
+   * passato.
+   * 
+   * @param name
+   *          nome gruppo
+   */
+  public boolean is(String name) {
+    return getModel().getName().equalsIgnoreCase(name);
+  }
+
+  /**
+   * Ritorna la lista di tutte le istanze di gruppo mantenute da questo
+   * GroupList
+   * 
+   * @return lista dei gruppi mantenuta da questo GroupList: se non ci sono
+   *         gruppi torna una lista vuota
+   */
+  public List<Group> getInstances() {
+    return m_listaDati;
+  }
+
+  /**
+   * Ordina le istanze di questa lista con il comparatore passato (vedi
+   * {@link GroupComparator#sort(List)}). Se la lista è già nell'ordine
+   * richiesto e da allora né le istanze né i loro valori sono cambiati, non
+   * viene fatto nulla; altrimenti l'ordinamento, stabile, parte dall'ordine
+   * attuale delle istanze. Gli ordinamenti per campi calcolati vengono
+   * sempre rifatti.
+   * 
+   * @param comparator
+   *          ordinamento richiesto
+   * @throws GroupException
+   *           se un campo dell'ordinamento non esiste
+   */
+  public void sort(GroupComparator comparator) throws GroupException {
+    String spec = comparator.getSortSpec(getModel());
+    if (spec != null && spec.equals(m_sortedBy)) {
+      return;
+    }
+    comparator.sort(m_listaDati);
+    m_sortedBy = spec;
+  }
+
+  /**
+   * Dimentica l'ordinamento e la selezione dei primi o ultimi N calcolati su
+   * questa lista: va chiamato ad ogni modifica delle istanze o dei loro
+   * valori.
+   */
+  void clearSortedOrders() {
+    m_sortedBy = null;
+    m_limited = null;
+    m_limitedBy = null;
+  }
+
+  /**
+   * Ritorna le prime <tt>limit</tt> istanze di questa lista secondo il
+   * comparatore passato, oppure le ultime se <tt>last</tt> è true, nell'ordine
+   * del comparatore. La selezione usa un heap di <tt>limit</tt> istanze (vedi
+   * {@link GroupComparator#select(List, int, boolean)}) invece di ordinare
+   * tutta la lista. Se <tt>othersLabel</tt> non è null e ci sono istanze
+   * escluse, in fondo alla lista ritornata c'è un'istanza in più che le
+   * riassume (vedi {@link Group#isOthers()}): i suoi campi numerici ne
+   * contengono la somma e il primo campo stringa contiene
+   * <tt>othersLabel</tt>. L'istanza riassuntiva non fa parte di questa lista
+   * e non entra nei valori aggregati.
+   * <p>
+   * Le istanze selezionate vengono messe all'inizio di questa lista, nello
+   * stesso ordine, seguite dalle istanze escluse nel loro ordine precedente:
+   * nessuna istanza viene tolta, così le funzioni di aggregazione e gli altri
+   * elementi che stampano lo stesso gruppo continuano a vederle tutte. Come
+   * per {@link #sort(GroupComparator)}, la selezione viene memorizzata finché
+   * la lista e i valori delle sue istanze non cambiano; se l'ordinamento è per
+   * campi calcolati la selezione non viene memorizzata.
+   * </p>
+   * 
+   * @param comparator
+   *          ordinamento delle istanze
+   * @param limit
+   *          quantità di istanze da selezionare
+   * @param last
+   *          true per selezionare le ultime istanze invece delle prime
+   * @param othersLabel
+   *          etichetta dell'istanza che riassume le istanze escluse, null se
+   *          non va creata
+   * @return lista delle istanze selezionate
+   * @throws GroupException
+   *           se un campo dell'ordinamento non esiste
+   */
+  public synchronized List<Group> getLimitedInstances(GroupComparator comparator, int limit, boolean last, String othersLabel)
+      throws GroupException {
+    String spec = comparator.getSortSpec(getModel());
+    if (spec != null) {
+      spec = spec + (last ? "|last " : "|first ") + limit + "|" + othersLabel;
+      if (spec.equals(m_limitedBy)) {
+        return m_limited;
+      }
+    }
+    List<Group> selected = comparator.select(m_listaDati, limit, last);
+    List<Group> excluded = new ArrayList<Group>(m_listaDati.size() - selected.size());
+    Set<Group> keep = Collections.newSetFromMap(new IdentityHashMap<Group, Boolean>());
+    keep.addAll(selected);
+    for (Group g : m_listaDati) {
+      if ( !keep.contains(g)) {
+        excluded.add(g);
+      }
+    }
+    releaseOthers();
+    Group others = null;
+    if (othersLabel != null && excluded.size() > 0) {
+      others = createOthers(excluded, othersLabel);
+      m_others = others;
+    }
+    m_listaDati.clear();
+    m_listaDati.addAll(selected);
+    m_listaDati.addAll(excluded);
+    if (others != null) {
+      selected.add(others);
+    }
+    clearSortedOrders();
+    if (spec != null) {
+      m_limited = selected;
+      m_limitedBy = spec;
+    }
+    return selected;
+  }
+
+  /**
+   * Distrugge l'istanza riassuntiva dell'ultima selezione, se c'è: nei modelli
+   * per colonne il suo numero d'ordine nel {@link ColumnStore} viene così
+   * riusato.
+   */
+  private void releaseOthers() {
+    if (m_others != null) {
+      m_others.destroy();
+      m_others = null;
+    }
+  }
+
+  /**
+   * Crea l'istanza che riassume le istanze passate: somma dei campi numerici
+   * non chiave ed etichetta nel primo campo stringa, cercato prima fra i campi
+   * chiave.
+   */
+  private Group createOthers(List<Group> excluded, String label) {
+    Group others = getModel().newInstance(m_root, this);
+    others.setOthers();
+    DataFieldModel labelField = null;
+    for (DataFieldModel model : getModel().getKeyFields()) {
+      if (labelField == null && !model.isAuto() && model.isString()) {
+        labelField = model;
+      }
+    }
+    for (DataFieldModel model : getModel().getFields()) {
+      if (model.isAuto()) {
+        continue;
+      }
+      if (labelField == null && model.isString()) {
+        labelField = model;
+      }
+      if ( !model.isKey() && model.isNumeric()) {
+        Object sum = sumValues(model, excluded);
+        if (sum != null) {
+          others.getField(model.getNome()).setValue(sum);
+        }
+      }
+    }
+    if (labelField != null) {
+      others.getField(labelField.getNome()).setValue(label);
+    }
+    return others;
+  }
+
+  /**
+   * @return somma dei valori non null del campo nei gruppi passati, della
+   *         classe corrispondente al tipo del campo; null se sono tutti null
+   */
+  private static Object sumValues(DataFieldModel model, List<Group> groups) {
+    TipoCampo tipo = model.getTipo();
+    long longSum = 0;
+    double doubleSum = 0;
+    BigDecimal decimalSum = BigDecimal.ZERO;
+    boolean found = false;
+    for (Group g : groups) {
+      DataField f = g.getField(model.getNome());
+      if (f == null || f.isEmptyOrNull()) {
+        continue;
+      }
+      found = true;
+      if (tipo == TipoCampo.LONG || tipo == TipoCampo.INTEGER) {
+        longSum += f.getAsLong();
+      } else if (tipo == TipoCampo.BIGDECIMAL) {
+        decimalSum = decimalSum.add(new BigDecimal(f.getValue().toString()));
+      } else {
+        doubleSum += f.getAsDouble();
+      }
+    }
+    if ( !found) {
+      return null;
+    }
+    if (tipo == TipoCampo.LONG) {
+      return Long.valueOf(longSum);
+    }
+    if (tipo == TipoCampo.INTEGER) {
+      return longSum == (int) longSum ? (Object) Integer.valueOf((int) longSum) : (Object) Long.valueOf(longSum);
+    }
+    if (tipo == TipoCampo.BIGDECIMAL) {
+      return decimalSum;
+    }
+    return Double.valueOf(doubleSum);
+  }
+
+  /**
+   * Ritorna la index.esima istanza del gruppo mantenuto da quesla lista.
+   * @param index indice gruppo
+   * @return gruppo richiesto; se l'indice è errato emette una {@link IndexOutOfBoundsException} .
+   */
+  public Group getInstance(int index) {
+    return m_listaDati.get(index);
+  }
+
+  /**
+   * Ritorna la prima istanza di gruppo mantenuta da questo GroupList.
+   * 
+   * @return il primo gruppo di questa lista
+   */
+  public Group getFirst() {
+    if (m_listaDati.size() > 0) {
+      return m_listaDati.get(0);
+    }
+    return null;
+  }
+
+  /**
+   * Ritorna l'ultimo gruppo, cioè quello alla fine della linked list che
+   * mantiene tutte le istanze di questo tipo di gruppo.
+   * 
+   * @return l'ultimo gruppo
+   */
+  public Group getLast() {
+    if (m_listaDati.size() > 0) {
+      return m_listaDati.get(m_listaDati.size() - 1);
+    }
+    return null;
+  }
+
+  /**
+   * Quantità totale di istanze di questa tipologia di gruppo.
+   * 
+   * @return qta istanze
+   */
+  public int getCount() {
+    return m_listaDati.size();
+  }
+
+  public List<Group> getSublist(int fromIndex, int toIndex) {
+    try {
+      return m_listaDati.subList(fromIndex, toIndex);
+    } catch (Exception e) {
+      //se gli indici sono errati, per adesso torno semplicemente lista vuota
+      return new ArrayList<Group>();
+    }
+  }
+
+  public String getPath() {
+    String path = "";
+    if (m_parent != null)
+      path = m_parent.getPath() + ".";
+    return path;
+  }
+
+  public String getKeysPath() {
+    String path = "";
+    if (m_parent != null)
+      path = m_parent.getKeysPath() + ".";
+    return path;
+  }
+
+  /**
+   * Ritorna il gruppo padre di questa lista.
+   */
+  public Group getParentGroup() {
+    return m_parent;
+  }
+
+  public void destroy() {
+    for (Group g : m_listaDati) {
+      g.destroy();
+    }
+    releaseOthers();
+    m_mappaDati.clear();
+    m_mappaDati = null;
+    m_mappaLong = null;
+    m_listaDati.clear();
+    m_listaDati = null;
+    m_root = null;
+    m_parent = null;
+    m_model = null;
+  }
+
+  //  public StringBuffer toXML() {
+  //    StringBuffer sXML = new StringBuffer();
+  //    for (Group g : m_listaDati) {
+  //      sXML.append(g.toXML());
+  //    }
+  //    return sXML;
+  //  }
+
+  public GroupModel getModel() {
+    if (m_model == null) {
+      m_model = getParentGroup().getRootGroup().getModelFromCache(m_modelId);
+    }
+    return m_model;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return "GroupList " + getModel().getName() + ", #elems " + m_listaDati.size();
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see
+   * ciscoop.expressions.symbols.Evaluator#evaluate(ciscoop.expressions.symbols
+   * .Symbol)
+   */
+  @Override
+  public Object evaluate(Symbol symbol) throws ResolveException {
+    //Si deve usare questa classe per valutare i campi. Infatti solo un subset
+    //dei campi è accettabile. Ad esempio non si possono usare campi con la 
+    //specifica del gruppo: i campi sono solo di questo gruppo.
+    //Inoltre i valori attuali dei campi ancora non sono assegnati al gruppo, 
+    //quindi uso la mappa che mi arriva direttamente dalla query.
+
+    try {
+      if (symbol.isField()) {
+        Field field = (Field) symbol;
+        return calcFieldValue(field);
+      }
+
+      Evaluator eval = getModel().getFilterEvaluator();
+      if (symbol.isConstant()) {
+        return eval.evaluate(symbol);
+      } else if (symbol.isMethodCall()) {
+        return eval.evaluate(symbol);
+      }
+    } catch (GroupException e) {
+      throw new ResolveException(e);
+    }
+
+    return null;
+  }
+
+  private Object calcFieldValue(Field field) throws GroupException {
+    String nomeGruppo = field.getGroup();
+    if (nomeGruppo == null) {
+      nomeGruppo = "";
+    }
+    if (nomeGruppo.length() > 0) {
+      throw new GroupException("%s: non si può specificare un nome di gruppo in un campo che fa parte del filtro.", field.toString());
+    }
+    if (m_currentValues == null) {
+      //qui non si dovrebbe mai arrivare ma... non si sa mai!
+      throw new GroupException("%s: errore imprevisto: i dati sono null!", field.toString());
+    }
+
+    String nomeCampo = field.getField();
+    if ( !m_currentValues.containsKey(nomeCampo)) {
+      nomeCampo = nomeCampo.toLowerCase();
+      if ( !m_currentValues.containsKey(nomeCampo)) {
+        nomeCampo = nomeCampo.toUpperCase();
+        if ( !m_currentValues.containsKey(nomeCampo)) {
+          throw new GroupException("%s: il campo definito nel filtro non è presente nei dati di input.", field.toString());
+        }
+      }
+    }
+    Object value = m_currentValues.get(nomeCampo);
+
+    return value;
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    s_listCount++;
+    out.defaultWriteObject();
+  }
+
+  public boolean isSubreportLoaded() {
+    return m_subreportLoaded;
+  }
+}
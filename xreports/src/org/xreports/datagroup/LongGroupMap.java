@@ -0,0 +1,95 @@
+package org.xreports.datagroup;
+
+import java.io.Serializable;
+
+/**
+ * Mappa <b>long-&gt;{@link Group}</b> a indirizzamento aperto, usata da
+ * {@link GroupList} per i gruppi con un solo campo chiave numerico intero:
+ * la ricerca non crea alcun oggetto e non chiama né <tt>hashCode</tt> né
+ * <tt>equals</tt>.
+ */
+final class LongGroupMap implements Serializable {
+  private static final long serialVersionUID = 4154372709364325671L;
+
+  /** capacità iniziale, potenza di 2 */
+  private static final int  INITIAL_CAPACITY = 16;
+
+  private long[]            m_keys;
+  /** istanze; null indica una posizione libera */
+  private Group[]           m_groups;
+  private int               m_size;
+
+  LongGroupMap() {
+    m_keys = new long[INITIAL_CAPACITY];
+    m_groups = new Group[INITIAL_CAPACITY];
+  }
+
+  /**
+   * @return istanza con la chiave passata, oppure null se non c'è
+   */
+  Group get(long key) {
+    int mask = m_keys.length - 1;
+    for (int i = slot(key, mask);; i = (i + 1) & mask) {
+      Group g = m_groups[i];
+      if (g == null || m_keys[i] == key) {
+        return g;
+      }
+    }
+  }
+
+  /**
+   * Associa l'istanza alla chiave passata, sostituendo l'eventuale istanza
+   * precedente.
+   */
+  void put(long key, Group group) {
+    if ((m_size + 1) * 2 > m_keys.length) {
+      resize(m_keys.length * 2);
+    }
+    int mask = m_keys.length - 1;
+    int i = slot(key, mask);
+    while (m_groups[i] != null && m_keys[i] != key) {
+      i = (i + 1) & mask;
+    }
+    if (m_groups[i] == null) {
+      m_size++;
+    }
+    m_keys[i] = key;
+    m_groups[i] = group;
+  }
+
+  int size() {
+    return m_size;
+  }
+
+  void clear() {
+    if (m_size > 0) {
+      m_keys = new long[INITIAL_CAPACITY];
+      m_groups = new Group[INITIAL_CAPACITY];
+      m_size = 0;
+    }
+  }
+
+  private void resize(int capacity) {
+    long[] keys = m_keys;
+    Group[] groups = m_groups;
+    m_keys = new long[capacity];
+    m_groups = new Group[capacity];
+    int mask = capacity - 1;
+    for (int j = 0; j < keys.length; j++) {
+      if (groups[j] != null) {
+        int i = slot(keys[j], mask);
+        while (m_groups[i] != null) {
+          i = (i + 1) & mask;
+        }
+        m_keys[i] = keys[j];
+        m_groups[i] = groups[j];
+      }
+    }
+  }
+
+  private static int slot(long key, int mask) {
+    //mescolo i bit: le chiavi sono spesso progressive
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+}
@@ -0,0 +1,164 @@
+package org.xreports.datagroup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dizionario dei valori stringa di un campo (vedi
+ * {@link DataFieldModel#encode(Object)}): ogni valore distinto riceve un
+ * codice intero e tutte le istanze del campo con lo stesso valore
+ * condividono lo stesso oggetto String. <br/>
+ * La codifica viene scelta automaticamente: durante i primi
+ * {@link #SAMPLE_SIZE} valori il dizionario osserva quanti valori distinti
+ * arrivano e si disattiva se sono più di {@link #MAX_SAMPLE_DISTINCT}, cioè se
+ * il campo non ha pochi valori ripetuti (descrizioni, note, codici
+ * univoci,...); si disattiva anche se supera {@link #MAX_SIZE} valori.
+ * Disattivato, il dizionario lascia passare i valori senza codificarli.
+ * <p>
+ * I codici permettono di ordinare senza confrontare le stringhe
+ * ({@link #rank(String, boolean)}) e di contare i valori distinti senza
+ * mantenerli in un Set ({@link #code(String)}); l'uguaglianza fra valori
+ * dello stesso campo diventa un confronto fra riferimenti.
+ * </p>
+ */
+final class StringDictionary {
+  /** quantità di valori osservati prima di decidere se usare il dizionario */
+  static final int                   SAMPLE_SIZE         = 4096;
+  /** massima quantità di valori distinti fra i primi {@link #SAMPLE_SIZE} */
+  static final int                   MAX_SAMPLE_DISTINCT = SAMPLE_SIZE / 8;
+  /** massima quantità di valori del dizionario */
+  static final int                   MAX_SIZE            = 65536;
+
+  private static final int           SAMPLING            = 0;
+  private static final int           ACTIVE              = 1;
+  private static final int           OFF                 = 2;
+
+  private int                        m_state             = SAMPLING;
+  /** quantità di valori osservati durante il campionamento */
+  private int                        m_seen              = 0;
+  /** valore --> codice */
+  private final Map<String, Integer> m_codes             = new HashMap<String, Integer>();
+  /** codice --> valore */
+  private final List<String>         m_values            = new ArrayList<String>();
+
+  /** posizione di ogni codice nell'ordinamento dei valori, case-sensitive */
+  private int[]                      m_ranks;
+  /** posizione di ogni codice nell'ordinamento dei valori, case-insensitive */
+  private int[]                      m_ranksIgnoreCase;
+
+  /**
+   * Ritorna l'istanza condivisa del valore passato, aggiungendolo al
+   * dizionario se non c'è; se il dizionario è disattivato ritorna il valore
+   * passato.
+   */
+  String intern(String s) {
+    if (m_state == OFF) {
+      return s;
+    }
+    Integer code = m_codes.get(s);
+    if (code != null) {
+      s = m_values.get(code.intValue());
+    } else if (m_values.size() >= MAX_SIZE) {
+      m_state = OFF;
+      return s;
+    } else {
+      m_codes.put(s, Integer.valueOf(m_values.size()));
+      m_values.add(s);
+    }
+    if (m_state == SAMPLING) {
+      m_seen++;
+      if (m_values.size() > MAX_SAMPLE_DISTINCT) {
+        //troppi valori diversi: il dizionario non conviene
+        m_state = OFF;
+        m_codes.clear();
+        m_values.clear();
+      } else if (m_seen >= SAMPLE_SIZE) {
+        m_state = ACTIVE;
+      }
+    }
+    return s;
+  }
+
+  /**
+   * @return quantità di valori nel dizionario
+   */
+  int size() {
+    return m_values.size();
+  }
+
+  /**
+   * Ritorna il codice del valore passato.
+   *
+   * @return codice, oppure -1 se il valore non è nel dizionario
+   */
+  int code(String s) {
+    Integer code = m_codes.get(s);
+    return code == null ? -1 : code.intValue();
+  }
+
+  /**
+   * Ritorna la posizione del valore passato nell'ordinamento di tutti i
+   * valori del dizionario: confrontare le posizioni equivale a confrontare i
+   * valori con <tt>compareTo</tt>, dopo averli convertiti in minuscolo se
+   * <tt>caseSensitive</tt> è false. Valori uguali hanno la stessa posizione.
+   *
+   * @return posizione, oppure -1 se il valore non è nel dizionario
+   */
+  int rank(String s, boolean caseSensitive) {
+    int code = code(s);
+    if (code < 0) {
+      return -1;
+    }
+    int[] ranks = caseSensitive ? m_ranks : m_ranksIgnoreCase;
+    if (ranks == null || ranks.length != m_values.size()) {
+      ranks = buildRanks(caseSensitive);
+      if (caseSensitive) {
+        m_ranks = ranks;
+      } else {
+        m_ranksIgnoreCase = ranks;
+      }
+    }
+    return ranks[code];
+  }
+
+  private int[] buildRanks(boolean caseSensitive) {
+    int n = m_values.size();
+    String[] keys = new String[n];
+    Integer[] codes = new Integer[n];
+    for (int i = 0; i < n; i++) {
+      keys[i] = caseSensitive ? m_values.get(i) : m_values.get(i).toLowerCase();
+      codes[i] = Integer.valueOf(i);
+    }
+    Arrays.sort(codes, new KeyComparator(keys));
+    int[] ranks = new int[n];
+    for (int i = 0; i < n; i++) {
+      int code = codes[i].intValue();
+      if (i > 0 && keys[code].equals(keys[codes[i - 1].intValue()])) {
+        ranks[code] = ranks[codes[i - 1].intValue()];
+      } else {
+        ranks[code] = i;
+      }
+    }
+    return ranks;
+  }
+
+  /**
+   * Ordina i codici secondo le chiavi di ordinamento dei rispettivi valori.
+   */
+  private static final class KeyComparator implements Comparator<Integer> {
+    private final String[] m_keys;
+
+    KeyComparator(String[] keys) {
+      m_keys = keys;
+    }
+
+    @Override
+    public int compare(Integer c1, Integer c2) {
+      return m_keys[c1.intValue()].compareTo(m_keys[c2.intValue()]);
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package org.xreports.datagroup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.xreports.db.RowHandler;
+import org.xreports.expressions.symbols.EvaluateException;
+
+/**
+ * Caricamento a blocchi di un subreport. <br/>
+ * Invece di eseguire una query per ogni istanza del gruppo padre, le liste del
+ * subreport ancora da caricare vengono accodate (vedi {@link #add(GroupList)})
+ * e caricate tutte insieme con una sola query ogni
+ * {@link GroupModel#getSubreportBatchSize()} istanze padre. La query ritornata
+ * dal metodo dell'attributo <tt>query</tt> deve contenere il segnaposto
+ * {@link #KEYS_PLACEHOLDER}, che viene sostituito con un parametro
+ * <tt>?</tt> per ogni valore distinto del campo di correlazione delle istanze
+ * padre; ad esempio <br/>
+ * <tt>select * from righe where id_testata in ($keys$)</tt><br/>
+ * Ogni riga letta viene poi assegnata alle liste delle istanze padre il cui
+ * campo di correlazione ha lo stesso valore della colonna di correlazione
+ * della riga.
+ * <p>
+ * NB: il metodo dell'attributo <tt>query</tt> viene chiamato una volta sola
+ * per ogni blocco, passando la prima istanza padre del blocco: la query non
+ * deve quindi dipendere dall'istanza padre se non tramite il segnaposto.
+ * </p>
+ */
+class SubreportBatch implements RowHandler {
+  /** segnaposto, nel testo della query, della lista dei valori di correlazione */
+  static final String                     KEYS_PLACEHOLDER = "$keys$";
+
+  private GroupModel                      m_model;
+  /** liste accodate, in attesa di caricamento */
+  private List<GroupList>                 m_pending        = new ArrayList<GroupList>();
+  /** valore di correlazione --> liste del blocco in caricamento */
+  private Map<Object, List<GroupList>>    m_lists;
+
+  SubreportBatch(GroupModel model) {
+    m_model = model;
+  }
+
+  /**
+   * Accoda la lista passata; se il blocco è completo lo carica subito.
+   */
+  void add(GroupList list) throws GroupException, EvaluateException {
+    m_pending.add(list);
+    if (m_pending.size() >= m_model.getSubreportBatchSize()) {
+      flush();
+    }
+  }
+
+  /**
+   * Carica con una sola query tutte le liste accodate.
+   */
+  @SuppressWarnings("unchecked")
+  void flush() throws GroupException, EvaluateException {
+    if (m_pending.isEmpty()) {
+      return;
+    }
+    List<GroupList> lists = m_pending;
+    m_pending = new ArrayList<GroupList>();
+    m_lists = new LinkedHashMap<Object, List<GroupList>>();
+    for (GroupList list : lists) {
+      DataField field = list.getParentGroup().getField(m_model.getSubreportBatchKey());
+      Object key = field == null ? null : normalizeKey(field.getValue());
+      if (key == null) {
+        //con correlazione null nessuna riga può corrispondere: la lista resta vuota
+        continue;
+      }
+      List<GroupList> sameKey = m_lists.get(key);
+      if (sameKey == null) {
+        sameKey = new ArrayList<GroupList>();
+        m_lists.put(key, sameKey);
+      }
+      sameKey.add(list);
+    }
+    try {
+      if ( !m_lists.isEmpty()) {
+        Object queryResult = m_model.resolveSubreportData(m_lists.values().iterator().next().get(0).getParentGroup());
+        if (queryResult instanceof String) {
+          loadQuery(queryResult.toString());
+        } else if (queryResult instanceof List<?>) {
+          for (Map<String, Object> row : (List<Map<String, Object>>) queryResult) {
+            handleRow(row);
+          }
+        } else if (queryResult != null) {
+          throw new GroupException("Nel subreport %s il simbolo query ritorna un tipo di oggetto non previsto: %s",
+              m_model.getName(), queryResult.getClass().getName());
+        }
+      }
+      for (GroupList list : lists) {
+        list.setSubreportLoaded();
+      }
+    } catch (GroupException e) {
+      throw e;
+    } catch (EvaluateException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new GroupException(e, "errore inaspettato in caricamento subreport %s", m_model.getName());
+    } finally {
+      m_lists = null;
+    }
+  }
+
+  private void loadQuery(String sql) throws Exception {
+    int pos = sql.indexOf(KEYS_PLACEHOLDER);
+    if (pos < 0) {
+      throw new GroupException("Nel subreport %s la query caricata a blocchi deve contenere il segnaposto %s",
+          m_model.getName(), KEYS_PLACEHOLDER);
+    }
+    StringBuilder marks = new StringBuilder();
+    for (int i = 0; i < m_lists.size(); i++) {
+      marks.append(i == 0 ? "?" : ", ?");
+    }
+    String batchSql = sql.substring(0, pos) + marks + sql.substring(pos + KEYS_PLACEHOLDER.length());
+    List<Object> params = new ArrayList<Object>(m_lists.keySet());
+    m_model.getStampa().getDatabase().streamRows(batchSql, params, -1, this);
+  }
+
+  /**
+   * Assegna la riga alle liste delle istanze padre con lo stesso valore di
+   * correlazione; le righe senza istanze padre corrispondenti vengono scartate.
+   */
+  public boolean handleRow(Map<String, Object> row) throws Exception {
+    String column = m_model.getSubreportBatchColumn();
+    Object value = row.get(column);
+    if (value == null) {
+      value = row.get(column.toLowerCase());
+      if (value == null) {
+        value = row.get(column.toUpperCase());
+      }
+    }
+    List<GroupList> lists = m_lists.get(normalizeKey(value));
+    if (lists != null) {
+      for (GroupList list : lists) {
+        list.assignBatchRow(row);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Rende confrontabili i valori numerici di tipo diverso (ad esempio Integer
+   * nel campo padre e BigDecimal nella colonna del subreport).
+   */
+  private static Object normalizeKey(Object value) {
+    if (value instanceof Number) {
+      try {
+        return new BigDecimal(value.toString()).stripTrailingZeros();
+      } catch (NumberFormatException e) {
+        //NaN, infinito: uso il valore così com'è
+        return value;
+      }
+    }
+    return value;
+  }
+}
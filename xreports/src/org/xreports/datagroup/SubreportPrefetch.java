@@ -0,0 +1,188 @@
+package org.xreports.datagroup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.xreports.db.ConnectionPool;
+import org.xreports.db.GenericDBConn;
+import org.xreports.db.RowHandler;
+import org.xreports.db.SchemaRow;
+import org.xreports.expressions.symbols.EvaluateException;
+
+/**
+ * Caricamento in parallelo di un subreport. <br/>
+ * Le liste del subreport vengono accodate mentre si caricano le istanze padre
+ * (vedi {@link #add(GroupList)}); a caricamento del livello padre terminato
+ * {@link #flush()} risolve, nel thread chiamante, la query di ogni istanza
+ * padre e le esegue in parallelo su
+ * {@link GroupModel#getSubreportPrefetchThreads()} connessioni. Le righe
+ * lette vengono poi assegnate alle liste, sempre nel thread chiamante e
+ * nell'ordine delle istanze padre: il risultato è identico al caricamento
+ * sequenziale.
+ * <p>
+ * Le connessioni sono prese dal {@link ConnectionPool} della connessione del
+ * report, se è impostato; altrimenti viene usato un pool temporaneo, chiuso
+ * alla fine del caricamento. Per non tenere in memoria tutti i risultati,
+ * vengono eseguite al massimo {@link #WINDOW_FACTOR} query per thread oltre
+ * quella della lista in assegnamento.
+ * </p>
+ */
+class SubreportPrefetch {
+  /** query eseguite in anticipo per ogni thread */
+  static final int        WINDOW_FACTOR = 2;
+
+  private GroupModel      m_model;
+  /** liste accodate, in attesa di caricamento */
+  private List<GroupList> m_pending     = new ArrayList<GroupList>();
+
+  SubreportPrefetch(GroupModel model) {
+    m_model = model;
+  }
+
+  /**
+   * Accoda la lista passata.
+   */
+  void add(GroupList list) {
+    m_pending.add(list);
+  }
+
+  /**
+   * Carica tutte le liste accodate.
+   */
+  @SuppressWarnings("unchecked")
+  void flush() throws GroupException, EvaluateException {
+    if (m_pending.isEmpty()) {
+      return;
+    }
+    List<GroupList> lists = m_pending;
+    m_pending = new ArrayList<GroupList>();
+
+    //i metodi dell'attributo query non sono thread-safe: li chiamo tutti qui
+    Object[] results = new Object[lists.size()];
+    for (int i = 0; i < results.length; i++) {
+      results[i] = m_model.resolveSubreportData(lists.get(i).getParentGroup());
+    }
+
+    int threads = m_model.getSubreportPrefetchThreads();
+    GenericDBConn db = m_model.getStampa().getDatabase();
+    ConnectionPool pool = null;
+    if (db.getConnectionPool() == null) {
+      pool = new ConnectionPool(db);
+      pool.setMaxSize(threads);
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(threads, new PrefetchThreadFactory(m_model.getName()));
+    List<Future<List<Map<String, Object>>>> futures = new ArrayList<Future<List<Map<String, Object>>>>(results.length);
+    try {
+      int window = threads * WINDOW_FACTOR;
+      int next = 0;
+      for (int i = 0; i < results.length; i++) {
+        for (; next < results.length && next <= i + window; next++) {
+          Future<List<Map<String, Object>>> future = null;
+          if (results[next] instanceof String) {
+            SubreportQuery query = m_model.getSubreportQuery(results[next].toString());
+            future = executor.submit(new QueryTask(db, pool, query.getSql(), query.bind(lists.get(next).getParentGroup())));
+          }
+          futures.add(future);
+        }
+        GroupList list = lists.get(i);
+        Object queryResult = results[i];
+        results[i] = null;
+        List<? extends Map<String, Object>> rows;
+        if (queryResult instanceof String) {
+          rows = futures.get(i).get();
+          futures.set(i, null);
+        } else if (queryResult instanceof List<?>) {
+          rows = (List<Map<String, Object>>) queryResult;
+        } else if (queryResult == null) {
+          rows = null;
+        } else {
+          throw new GroupException("Nel subreport %s il simbolo query ritorna un tipo di oggetto non previsto: %s",
+              m_model.getName(), queryResult.getClass().getName());
+        }
+        if (rows != null) {
+          for (Map<String, Object> row : rows) {
+            list.assignBatchRow(row);
+          }
+        }
+        list.setSubreportLoaded();
+      }
+    } catch (GroupException e) {
+      throw e;
+    } catch (ExecutionException e) {
+      throw new GroupException(e.getCause(), "errore inaspettato in caricamento subreport %s", m_model.getName());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new GroupException(e, "interrotto il caricamento del subreport %s", m_model.getName());
+    } catch (Exception e) {
+      throw new GroupException(e, "errore inaspettato in caricamento subreport %s", m_model.getName());
+    } finally {
+      executor.shutdownNow();
+      if (pool != null) {
+        pool.close();
+      }
+    }
+  }
+
+  /**
+   * Esegue una query su una propria connessione e ne ritorna le righe. È usato
+   * anche da {@link SubreportWindow}.
+   */
+  static class QueryTask implements Callable<List<Map<String, Object>>>, RowHandler {
+    private final GenericDBConn             m_db;
+    private final ConnectionPool            m_pool;
+    private final String                    m_sql;
+    private final List<Object>              m_params;
+    private final List<Map<String, Object>> m_rows = new ArrayList<Map<String, Object>>();
+
+    QueryTask(GenericDBConn db, ConnectionPool pool, String sql, List<Object> params) {
+      m_db = db;
+      m_pool = pool;
+      m_sql = sql;
+      m_params = params;
+    }
+
+    public List<Map<String, Object>> call() throws Exception {
+      GenericDBConn conn = m_db.newConnection();
+      if (m_pool != null) {
+        conn.setConnectionPool(m_pool);
+      }
+      conn.open();
+      try {
+        conn.streamRows(m_sql, m_params, -1, this);
+      } finally {
+        conn.close();
+      }
+      return m_rows;
+    }
+
+    public boolean handleRow(Map<String, Object> row) throws Exception {
+      //la riga passata viene riutilizzata dal cursore: ne tengo una copia
+      m_rows.add(row instanceof SchemaRow ? ((SchemaRow) row).copy() : new HashMap<String, Object>(row));
+      return true;
+    }
+  }
+
+  static class PrefetchThreadFactory implements ThreadFactory {
+    private final String        m_name;
+    private final AtomicInteger m_count = new AtomicInteger();
+
+    PrefetchThreadFactory(String name) {
+      m_name = name;
+    }
+
+    public Thread newThread(Runnable r) {
+      Thread t = new Thread(r, "xreports-prefetch-" + m_name + "-" + m_count.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package org.xreports.datagroup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.xreports.engine.ResolveException;
+import org.xreports.engine.XReport;
+import org.xreports.expressions.lexer.Lexer;
+import org.xreports.expressions.parsers.GenericParser;
+import org.xreports.expressions.parsers.GenericParser.ParserType;
+import org.xreports.expressions.symbols.EvaluateException;
+import org.xreports.expressions.symbols.Evaluator;
+import org.xreports.expressions.symbols.Field;
+import org.xreports.expressions.symbols.Symbol;
+
+/**
+ * Query di un subreport compilata con parametri <tt>?</tt>. <br/>
+ * Il testo ritornato dal metodo dell'attributo <tt>query</tt> può contenere,
+ * invece dei valori dell'istanza padre concatenati nel testo, dei segnaposto
+ * con la sintassi delle espressioni di testo, racchiusi tra graffe:
+ * <ul>
+ * <li><tt>#{campo}</tt> oppure <tt>#{gruppo#campo}</tt>: valore del campo
+ * dell'istanza padre (o del suo antenato <tt>gruppo</tt>)</li>
+ * <li><tt>${parametro}</tt>: valore del parametro del report</li>
+ * </ul>
+ * ad esempio <br/>
+ * <tt>select * from righe where id_testata = #{id} and anno = ${anno}</tt><br/>
+ * Il testo viene analizzato una volta sola: ogni segnaposto diventa un
+ * parametro <tt>?</tt> e per ogni istanza padre vengono solo calcolati i
+ * valori ({@link #bind(Group)}). Il testo SQL è quindi lo stesso per tutte le
+ * istanze padre e lo statement preparato viene riusato (vedi
+ * {@link org.xreports.db.GenericDBConn#setStatementCacheSize(int)}).
+ * <p>
+ * I campi e le costanti senza graffe (<tt>#tmp</tt>, <tt>v$session</tt>)
+ * restano nel testo così come sono. I segnaposto non vanno messi tra apici.
+ * </p>
+ */
+class SubreportQuery {
+  private final String   m_template;
+  private final String   m_sql;
+  /** segnaposto ({@link Field} o costanti), nell'ordine dei parametri */
+  private final Symbol[] m_params;
+  private final XReport  m_stampa;
+
+  private SubreportQuery(String template, String sql, Symbol[] params, XReport stampa) {
+    m_template = template;
+    m_sql = sql;
+    m_params = params;
+    m_stampa = stampa;
+  }
+
+  /**
+   * Compila il testo di una query di subreport.
+   *
+   * @param template
+   *          testo ritornato dal metodo dell'attributo query
+   * @param stampa
+   *          report, per la valutazione dei parametri
+   * @return query compilata
+   * @throws GroupException
+   *           se il testo non è un'espressione di testo valida
+   */
+  static SubreportQuery compile(String template, XReport stampa) throws GroupException {
+    if (template.indexOf("#{") < 0 && template.indexOf("${") < 0) {
+      return new SubreportQuery(template, template, new Symbol[0], stampa);
+    }
+    Symbol root;
+    try {
+      root = GenericParser.getInstance(ParserType.TEXT_EXPRESSION, template).parse();
+    } catch (Exception e) {
+      throw new GroupException(e, "Query di subreport non valida: %s", template);
+    }
+    StringBuilder sql = new StringBuilder(template.length());
+    List<Symbol> params = new ArrayList<Symbol>();
+    int lastPos = 0;
+    for (int i = 0; i < root.getChildNumber(); i++) {
+      Symbol s = root.getChild(i);
+      if ( !s.isField() && !s.isConstant()) {
+        continue;
+      }
+      int pos = s.getPosition();
+      char modifier = s.isField() ? Lexer.FIELD_MODIFIER : Lexer.CONSTANT_MODIFIER;
+      if (pos < lastPos || !template.startsWith(modifier + "{", pos)) {
+        continue;
+      }
+      int end = template.indexOf('}', pos);
+      if (end < 0) {
+        continue;
+      }
+      sql.append(template, lastPos, pos).append('?');
+      params.add(s);
+      lastPos = end + 1;
+    }
+    sql.append(template, lastPos, template.length());
+    return new SubreportQuery(template, sql.toString(), params.toArray(new Symbol[params.size()]), stampa);
+  }
+
+  /**
+   * @return testo da cui è stata compilata la query
+   */
+  String getTemplate() {
+    return m_template;
+  }
+
+  /**
+   * @return testo SQL con i parametri <tt>?</tt>
+   */
+  String getSql() {
+    return m_sql;
+  }
+
+  /**
+   * Calcola i valori dei parametri per l'istanza padre passata.
+   *
+   * @param parent
+   *          istanza padre del subreport
+   * @return valori dei parametri, nell'ordine; null se la query non ha
+   *         parametri
+   * @throws GroupException
+   *           se un campo non esiste
+   * @throws EvaluateException
+   *           se un parametro del report non esiste o non è valido
+   */
+  List<Object> bind(Group parent) throws GroupException, EvaluateException {
+    if (m_params.length == 0) {
+      return null;
+    }
+    List<Object> values = new ArrayList<Object>(m_params.length);
+    for (Symbol s : m_params) {
+      if (s.isField()) {
+        Field f = (Field) s;
+        Group g = parent;
+        if (f.getGroup() != null && !f.getGroup().equalsIgnoreCase(parent.getName())) {
+          g = parent.getAncestorGroup(f.getGroup());
+        }
+        DataField field = g == null ? null : g.getField(f.getField());
+        if (field == null) {
+          throw new GroupException("Il campo %s usato nella query del subreport non esiste", f.getText());
+        }
+        values.add(field.getValue());
+      } else {
+        values.add(s.evaluate(new ParameterEvaluator()));
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Valuta le costanti come parametri del report.
+   */
+  private class ParameterEvaluator implements Evaluator {
+    public Object evaluate(Symbol symbol) throws ResolveException {
+      try {
+        return m_stampa.resolveParameter(symbol);
+      } catch (ResolveException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new ResolveException(e, "Errore nel parametro %s della query del subreport", symbol.getText());
+      }
+    }
+  }
+}
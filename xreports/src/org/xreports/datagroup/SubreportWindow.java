@@ -0,0 +1,181 @@
+package org.xreports.datagroup;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.xreports.db.ConnectionPool;
+import org.xreports.db.GenericDBConn;
+import org.xreports.expressions.symbols.EvaluateException;
+
+/**
+ * Caricamento in generazione di un subreport <i>lazy</i>. <br/>
+ * Le righe del subreport di un'istanza padre vengono caricate subito prima che
+ * l'istanza padre sia generata ({@link #load(List, int)}) e liberate appena
+ * finita la sua generazione ({@link #release(Group)}): in memoria restano
+ * solo i dati del subreport dell'istanza padre in generazione e di quelle
+ * nella finestra di <i>look-ahead</i>.
+ * <p>
+ * Con un look-ahead K &gt; 0, le query delle K istanze padre successive
+ * vengono risolte in anticipo (nel thread chiamante, perché i metodi
+ * dell'attributo <tt>query</tt> non sono thread-safe) ed eseguite da K thread
+ * su connessioni proprie, come in {@link SubreportPrefetch}; le righe vengono
+ * sempre assegnate ai gruppi nel thread chiamante. Con K = 0 la query viene
+ * eseguita nel thread chiamante sulla connessione del report.
+ * </p>
+ * NB: i dati di un subreport lazy sono disponibili solo durante la
+ * generazione della sua istanza padre: le funzioni di aggregazione calcolate
+ * dai gruppi antenati non li vedono.
+ */
+class SubreportWindow {
+  /** secondi dopo i quali si fermano i thread inutilizzati */
+  private static final long               THREAD_KEEPALIVE = 60;
+  /** risultato di una query risolta in anticipo che non ha dati */
+  private static final Object             NO_DATA          = new Object();
+
+  private GroupModel                      m_model;
+  /**
+   * liste la cui query è stata risolta in anticipo --&gt; Future della query in
+   * esecuzione oppure lista dati ritornata dal metodo dell'attributo query
+   */
+  private Map<GroupList, Object>          m_pending        = new IdentityHashMap<GroupList, Object>();
+  private ThreadPoolExecutor              m_executor;
+  /** pool temporaneo, se la connessione del report non ne ha uno */
+  private ConnectionPool                  m_pool;
+
+  SubreportWindow(GroupModel model) {
+    m_model = model;
+  }
+
+  /**
+   * Carica il subreport dell'istanza padre <tt>parents[index]</tt>, se non è
+   * già caricato, e avvia il caricamento di quelli delle istanze padre nella
+   * finestra di look-ahead.
+   *
+   * @param parents
+   *          istanze padre, nell'ordine di generazione
+   * @param index
+   *          posizione dell'istanza padre in generazione
+   */
+  @SuppressWarnings("unchecked")
+  void load(List<Group> parents, int index) throws GroupException, EvaluateException {
+    int last = Math.min(parents.size() - 1, index + m_model.getSubreportLookAhead());
+    for (int i = index + 1; i <= last; i++) {
+      GroupList next = getList(parents.get(i));
+      if ( !next.isSubreportLoaded() && !m_pending.containsKey(next)) {
+        m_pending.put(next, prefetch(next));
+      }
+    }
+
+    GroupList list = getList(parents.get(index));
+    if (list.isSubreportLoaded()) {
+      return;
+    }
+    Object result = m_pending.remove(list);
+    if (result == null) {
+      //fuori dalla finestra (o look-ahead 0): carico direttamente dal cursore
+      list.loadSubreport();
+    } else {
+      try {
+        List<? extends Map<String, Object>> rows = null;
+        if (result instanceof Future<?>) {
+          rows = ((Future<List<Map<String, Object>>>) result).get();
+        } else if (result != NO_DATA) {
+          rows = (List<Map<String, Object>>) result;
+        }
+        if (rows != null) {
+          for (Map<String, Object> row : rows) {
+            list.assignBatchRow(row);
+          }
+        }
+        list.setSubreportLoaded();
+      } catch (GroupException e) {
+        throw e;
+      } catch (EvaluateException e) {
+        throw e;
+      } catch (ExecutionException e) {
+        throw new GroupException(e.getCause(), "errore inaspettato in caricamento subreport %s", m_model.getName());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new GroupException(e, "interrotto il caricamento del subreport %s", m_model.getName());
+      } catch (Exception e) {
+        throw new GroupException(e, "errore inaspettato in caricamento subreport %s", m_model.getName());
+      }
+    }
+    //eventuali subreport discendenti a blocchi o in parallelo
+    m_model.flushSubreportBatches();
+  }
+
+  /**
+   * Libera i dati del subreport dell'istanza padre passata, che così può
+   * essere ricaricato.
+   */
+  void release(Group parent) throws GroupException {
+    GroupList list = getList(parent);
+    Object pending = m_pending.remove(list);
+    if (pending instanceof Future<?>) {
+      ((Future<?>) pending).cancel(true);
+    }
+    list.releaseSubreport();
+  }
+
+  /**
+   * Interrompe i caricamenti in anticipo e chiude thread e connessioni.
+   */
+  synchronized void close() {
+    for (Object pending : m_pending.values()) {
+      if (pending instanceof Future<?>) {
+        ((Future<?>) pending).cancel(true);
+      }
+    }
+    m_pending.clear();
+    if (m_executor != null) {
+      m_executor.shutdownNow();
+      m_executor = null;
+    }
+    if (m_pool != null) {
+      m_pool.close();
+      m_pool = null;
+    }
+  }
+
+  private Object prefetch(GroupList list) throws GroupException, EvaluateException {
+    Object result = m_model.resolveSubreportData(list.getParentGroup());
+    if (result instanceof String) {
+      //i valori dei parametri li calcolo qui: i gruppi non sono thread-safe
+      SubreportQuery query = m_model.getSubreportQuery(result.toString());
+      List<Object> params = query.bind(list.getParentGroup());
+      GenericDBConn db = getDatabase();
+      return getExecutor().submit(new SubreportPrefetch.QueryTask(db, m_pool, query.getSql(), params));
+    }
+    return result == null ? NO_DATA : result;
+  }
+
+  private GenericDBConn getDatabase() {
+    GenericDBConn db = m_model.getStampa().getDatabase();
+    if (m_pool == null && db.getConnectionPool() == null) {
+      m_pool = new ConnectionPool(db);
+      m_pool.setMaxSize(m_model.getSubreportLookAhead());
+    }
+    return db;
+  }
+
+  private synchronized ThreadPoolExecutor getExecutor() {
+    if (m_executor == null) {
+      int threads = m_model.getSubreportLookAhead();
+      m_executor = new ThreadPoolExecutor(threads, threads, THREAD_KEEPALIVE, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<Runnable>(), new SubreportPrefetch.PrefetchThreadFactory(m_model.getName()));
+      m_executor.allowCoreThreadTimeOut(true);
+    }
+    return m_executor;
+  }
+
+  private GroupList getList(Group parent) throws GroupException {
+    return parent.getChildList(m_model.getName());
+  }
+}
@@ -1,5 +1,5 @@
-package org.xreports.datagroup;
-
-public interface UserCalcListener {
-  public void evaluateField(DataFieldAuto c);
-}
+package org.xreports.datagroup;
+
+public interface UserCalcListener {
+  public void evaluateField(DataFieldAuto c);
+}
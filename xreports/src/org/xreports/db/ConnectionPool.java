@@ -0,0 +1,445 @@
+package org.xreports.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Pool di connessioni JDBC, usato da {@link GenericDBConn} quando gli viene
+ * assegnato con {@link GenericDBConn#setConnectionPool(ConnectionPool)}: in tal
+ * caso {@link GenericDBConn#open()} prende una connessione dal pool e
+ * {@link GenericDBConn#close()} la restituisce invece di chiuderla. In questo
+ * modo più report, contemporanei o in sequenza, riusano connessioni già
+ * aperte.
+ * <p>
+ * Il pool:
+ * <ul>
+ * <li>apre al massimo {@link #getMaxSize()} connessioni; quando sono tutte in
+ * uso, chi chiede una connessione aspetta al massimo {@link #getMaxWait()}
+ * millisecondi</li>
+ * <li>prima di consegnare una connessione inutilizzata ne verifica la validità
+ * con {@link Connection#isValid(int)}</li>
+ * <li>chiude le connessioni inutilizzate da più di {@link #getIdleTimeout()}
+ * millisecondi e quelle aperte da più di {@link #getMaxLifetime()}
+ * millisecondi</li>
+ * </ul>
+ * Le connessioni vengono create dalla {@link GenericDBConn} passata al
+ * costruttore, con i suoi parametri (url, utente, password) e le sue
+ * impostazioni di sessione. I pool condivisi da tutta la JVM si ottengono con
+ * {@link #getShared(GenericDBConn)}.
+ * </p>
+ */
+public class ConnectionPool {
+  public static final int                                    DEFAULT_MAX_SIZE     = 10;
+  public static final long                                   DEFAULT_MAX_WAIT     = 30000;
+  public static final long                                   DEFAULT_IDLE_TIMEOUT = 10 * 60 * 1000;
+  public static final long                                   DEFAULT_MAX_LIFETIME = 30 * 60 * 1000;
+  /** secondi di attesa per la verifica di validità di una connessione */
+  public static final int                                    VALIDATION_TIMEOUT   = 5;
+
+  private static final ConcurrentMap<String, ConnectionPool> c_shared             = new ConcurrentHashMap<String, ConnectionPool>();
+
+  private final GenericDBConn                                c_factory;
+  /** connessioni inutilizzate, la più recente in testa */
+  private final LinkedList<PooledConnection>                 c_idle               = new LinkedList<PooledConnection>();
+  private final Map<Connection, PooledConnection>            c_inUse              = new IdentityHashMap<Connection, PooledConnection>();
+  /** connessioni in uso o in creazione */
+  private int                                                c_active             = 0;
+  private boolean                                            c_closed             = false;
+
+  private int                                                c_maxSize            = DEFAULT_MAX_SIZE;
+  private long                                               c_maxWait            = DEFAULT_MAX_WAIT;
+  private long                                               c_idleTimeout        = DEFAULT_IDLE_TIMEOUT;
+  private long                                               c_maxLifetime        = DEFAULT_MAX_LIFETIME;
+
+  private long                                               c_borrowCount        = 0;
+  private long                                               c_createdCount       = 0;
+  private long                                               c_timeoutCount       = 0;
+  private long                                               c_totalWaitTime      = 0;
+  private long                                               c_maxWaitTime        = 0;
+
+  /**
+   * Crea un pool le cui connessioni vengono aperte con i parametri della
+   * connessione passata.
+   *
+   * @param factory
+   *          connessione già configurata (driver, url, utente, password)
+   */
+  public ConnectionPool(GenericDBConn factory) {
+    if (factory == null) {
+      throw new NullPointerException("factory is null");
+    }
+    c_factory = factory;
+  }
+
+  /**
+   * Ritorna il pool condiviso per i parametri della connessione passata (tipo
+   * di connessione, url, utente), creandolo se non esiste ancora.
+   *
+   * @param conn
+   *          connessione già configurata
+   * @return pool condiviso
+   */
+  public static ConnectionPool getShared(GenericDBConn conn) {
+    String key = conn.getClass().getName() + '\n' + conn.getJdbcUrl() + '\n' + conn.getUser();
+    ConnectionPool pool = c_shared.get(key);
+    if (pool == null) {
+      pool = new ConnectionPool(conn);
+      ConnectionPool old = c_shared.putIfAbsent(key, pool);
+      if (old != null) {
+        pool = old;
+      }
+    }
+    return pool;
+  }
+
+  /**
+   * Prende una connessione dal pool, aprendone una nuova se non ce ne sono di
+   * inutilizzate e non si è raggiunta la quantità massima.
+   *
+   * @return connessione da restituire con {@link #release(Connection)}
+   * @throws SQLException
+   *           se non è possibile aprire la connessione o se non si libera
+   *           alcuna connessione entro {@link #getMaxWait()} millisecondi
+   */
+  public Connection borrow() throws SQLException {
+    long start = System.currentTimeMillis();
+    while (true) {
+      PooledConnection pc = null;
+      List<PooledConnection> expired;
+      synchronized (this) {
+        expired = removeExpired();
+        while (true) {
+          if (c_closed) {
+            throw new SQLException("Il pool di connessioni è chiuso");
+          }
+          pc = c_idle.poll();
+          if (pc != null || c_active + c_idle.size() < c_maxSize) {
+            break;
+          }
+          long wait = start + c_maxWait - System.currentTimeMillis();
+          if (wait <= 0) {
+            c_timeoutCount++;
+            throw new SQLException("Nessuna connessione disponibile dopo " + c_maxWait + " ms (" + c_maxSize
+                + " connessioni in uso)");
+          }
+          try {
+            wait(wait);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrotta l'attesa di una connessione");
+          }
+        }
+        c_active++;
+      }
+      closeAll(expired);
+
+      //apertura e validazione delle connessioni sono fuori dal lock: possono essere lente
+      if (pc == null) {
+        try {
+          pc = new PooledConnection(c_factory.createConnection());
+        } catch (Exception e) {
+          releaseSlot();
+          if (e instanceof SQLException) {
+            throw (SQLException) e;
+          }
+          throw new SQLException("Impossibile aprire la connessione: " + e, e);
+        }
+        synchronized (this) {
+          c_createdCount++;
+        }
+      } else if ( !isValid(pc.m_conn)) {
+        closeQuietly(pc);
+        releaseSlot();
+        continue;
+      }
+
+      long waitTime = System.currentTimeMillis() - start;
+      synchronized (this) {
+        c_inUse.put(pc.m_conn, pc);
+        c_borrowCount++;
+        c_totalWaitTime += waitTime;
+        c_maxWaitTime = Math.max(c_maxWaitTime, waitTime);
+      }
+      return pc.m_conn;
+    }
+  }
+
+  /**
+   * Restituisce al pool una connessione presa con {@link #borrow()}. Le
+   * transazioni aperte vengono annullate; le connessioni non più valide o
+   * aperte da troppo tempo vengono chiuse.
+   *
+   * @param conn
+   *          connessione da restituire
+   */
+  public void release(Connection conn) {
+    PooledConnection pc;
+    synchronized (this) {
+      pc = c_inUse.remove(conn);
+      if (pc == null) {
+        throw new IllegalArgumentException("La connessione non appartiene a questo pool");
+      }
+    }
+    boolean reuse = !isExpired(pc, System.currentTimeMillis());
+    if (reuse) {
+      try {
+        if (conn.isClosed()) {
+          reuse = false;
+        } else if ( !conn.getAutoCommit()) {
+          conn.rollback();
+        }
+      } catch (SQLException e) {
+        reuse = false;
+      }
+    }
+    synchronized (this) {
+      c_active--;
+      if (reuse && !c_closed) {
+        pc.m_lastUsed = System.currentTimeMillis();
+        c_idle.addFirst(pc);
+      } else {
+        reuse = false;
+      }
+      notifyAll();
+    }
+    if ( !reuse) {
+      closeQuietly(pc);
+    }
+  }
+
+  /**
+   * Ritorna l'oggetto associato alla connessione in uso con
+   * {@link #setAttachment(Connection, Object)}.
+   */
+  synchronized Object getAttachment(Connection conn) {
+    PooledConnection pc = c_inUse.get(conn);
+    return pc == null ? null : pc.m_attachment;
+  }
+
+  /**
+   * Associa un oggetto alla connessione in uso: resta associato alla
+   * connessione finché questa rimane aperta, anche dopo la restituzione al
+   * pool. Viene usato da {@link GenericDBConn} per gli statement preparati.
+   */
+  synchronized void setAttachment(Connection conn, Object attachment) {
+    PooledConnection pc = c_inUse.get(conn);
+    if (pc != null) {
+      pc.m_attachment = attachment;
+    }
+  }
+
+  /**
+   * Chiude le connessioni inutilizzate da più di {@link #getIdleTimeout()}
+   * millisecondi o aperte da più di {@link #getMaxLifetime()} millisecondi.
+   * Viene fatto anche ad ogni {@link #borrow()}, ma si può chiamare
+   * periodicamente per liberare le connessioni di un pool non più usato.
+   */
+  public void evictIdle() {
+    List<PooledConnection> expired;
+    synchronized (this) {
+      expired = removeExpired();
+    }
+    closeAll(expired);
+  }
+
+  /**
+   * Chiude tutte le connessioni inutilizzate; quelle in uso vengono chiuse
+   * quando sono restituite. Dopo la chiusura il pool non consegna più
+   * connessioni.
+   */
+  public void close() {
+    List<PooledConnection> idle;
+    synchronized (this) {
+      c_closed = true;
+      idle = new LinkedList<PooledConnection>(c_idle);
+      c_idle.clear();
+      notifyAll();
+    }
+    closeAll(idle);
+  }
+
+  /** deve essere chiamato con il lock del pool */
+  private List<PooledConnection> removeExpired() {
+    List<PooledConnection> expired = null;
+    long now = System.currentTimeMillis();
+    for (Iterator<PooledConnection> it = c_idle.iterator(); it.hasNext();) {
+      PooledConnection pc = it.next();
+      if (isExpired(pc, now) || now - pc.m_lastUsed > c_idleTimeout) {
+        it.remove();
+        if (expired == null) {
+          expired = new LinkedList<PooledConnection>();
+        }
+        expired.add(pc);
+      }
+    }
+    return expired;
+  }
+
+  private synchronized void releaseSlot() {
+    c_active--;
+    notifyAll();
+  }
+
+  private boolean isExpired(PooledConnection pc, long now) {
+    return now - pc.m_created > c_maxLifetime;
+  }
+
+  private static boolean isValid(Connection conn) {
+    try {
+      return conn.isValid(VALIDATION_TIMEOUT);
+    } catch (AbstractMethodError e) {
+      //driver JDBC 3: mi accontento di sapere che non è chiusa
+      try {
+        return !conn.isClosed();
+      } catch (SQLException e1) {
+        return false;
+      }
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  private static void closeAll(List<PooledConnection> list) {
+    if (list != null) {
+      for (PooledConnection pc : list) {
+        closeQuietly(pc);
+      }
+    }
+  }
+
+  private static void closeQuietly(PooledConnection pc) {
+    try {
+      pc.m_conn.close();
+    } catch (Exception e) {
+      // ignoro
+    }
+  }
+
+  /**
+   * @return quantità massima di connessioni aperte dal pool
+   */
+  public synchronized int getMaxSize() {
+    return c_maxSize;
+  }
+
+  public synchronized void setMaxSize(int maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("max size must be >= 1");
+    }
+    c_maxSize = maxSize;
+    notifyAll();
+  }
+
+  /**
+   * @return attesa massima, in millisecondi, di una connessione libera
+   */
+  public synchronized long getMaxWait() {
+    return c_maxWait;
+  }
+
+  public synchronized void setMaxWait(long maxWait) {
+    c_maxWait = maxWait;
+  }
+
+  /**
+   * @return millisecondi dopo i quali una connessione inutilizzata viene
+   *         chiusa
+   */
+  public synchronized long getIdleTimeout() {
+    return c_idleTimeout;
+  }
+
+  public synchronized void setIdleTimeout(long idleTimeout) {
+    c_idleTimeout = idleTimeout;
+  }
+
+  /**
+   * @return millisecondi dopo i quali una connessione viene chiusa, anche se
+   *         usata di continuo
+   */
+  public synchronized long getMaxLifetime() {
+    return c_maxLifetime;
+  }
+
+  public synchronized void setMaxLifetime(long maxLifetime) {
+    c_maxLifetime = maxLifetime;
+  }
+
+  /**
+   * @return quantità di connessioni in uso
+   */
+  public synchronized int getActiveCount() {
+    return c_inUse.size();
+  }
+
+  /**
+   * @return quantità di connessioni aperte e inutilizzate
+   */
+  public synchronized int getIdleCount() {
+    return c_idle.size();
+  }
+
+  /**
+   * @return quantità di connessioni consegnate
+   */
+  public synchronized long getBorrowCount() {
+    return c_borrowCount;
+  }
+
+  /**
+   * @return quantità di connessioni aperte dal pool
+   */
+  public synchronized long getCreatedCount() {
+    return c_createdCount;
+  }
+
+  /**
+   * @return quantità di richieste fallite per attesa troppo lunga
+   */
+  public synchronized long getTimeoutCount() {
+    return c_timeoutCount;
+  }
+
+  /**
+   * @return tempo totale, in millisecondi, impiegato per ottenere le
+   *         connessioni (attesa, apertura e validazione)
+   */
+  public synchronized long getTotalWaitTime() {
+    return c_totalWaitTime;
+  }
+
+  /**
+   * @return tempo massimo, in millisecondi, impiegato per ottenere una
+   *         connessione
+   */
+  public synchronized long getMaxWaitTime() {
+    return c_maxWaitTime;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "ConnectionPool[" + c_factory.getJdbcUrl() + ", active=" + c_inUse.size() + ", idle=" + c_idle.size()
+        + ", borrowed=" + c_borrowCount + ", created=" + c_createdCount + ", timeouts=" + c_timeoutCount
+        + ", waitTime=" + c_totalWaitTime + "ms]";
+  }
+
+  private static class PooledConnection {
+    private final Connection m_conn;
+    private final long       m_created = System.currentTimeMillis();
+    private long             m_lastUsed;
+    /** oggetto associato alla connessione, vedi setAttachment */
+    private Object           m_attachment;
+
+    PooledConnection(Connection conn) {
+      m_conn = conn;
+      m_lastUsed = m_created;
+    }
+  }
+}
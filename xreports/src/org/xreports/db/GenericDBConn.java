@@ -1,181 +1,610 @@
-package org.xreports.db;
-
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-
-import org.xreports.util.Text;
-
-public abstract class GenericDBConn {
-	private String																							c_dbName;
-	private String																							c_user;
-	private String																							c_passwd;
-	private String																							c_jdbcUrl;
-	private Connection																					c_dbConn;
-
-	private static Map<String, Class<? extends GenericDBConn>>	c_availDrivers;
-
-	static {
-		c_availDrivers = new HashMap<String, Class<? extends GenericDBConn>>();
-		c_availDrivers.put(JtdsDBConn.DriverName, JtdsDBConn.class);
-		c_availDrivers.put(MssqlsDBConn.DriverName, MssqlsDBConn.class);
-		c_availDrivers.put(OracleDBConn.DriverName, OracleDBConn.class);
-		c_availDrivers.put(IfxDBConn.DriverName, IfxDBConn.class);
-		c_availDrivers.put(MysqlDBConn.DriverName, MysqlDBConn.class);
-		c_availDrivers.put(HsqldbDBConn.DriverName, HsqldbDBConn.class);
-		c_availDrivers.put(PostgresqlDBConn.DriverName, PostgresqlDBConn.class);
-	}
-
-	public abstract String getDriverName();
-
-	protected abstract void setConnectionDB(Connection conn) throws SQLException;
-
-	public static GenericDBConn getInstance(String driverClass)
-			throws InstantiationException, IllegalAccessException {
-		Class<? extends GenericDBConn> driver = c_availDrivers.get(driverClass);
-		if (driver != null)
-			return driver.newInstance();
-
-		throw new IllegalArgumentException("Driver " + driverClass
-				+ " not available");
-	}
-
-	public static void registerDriver(String driverClass,
-			Class<? extends GenericDBConn> connector) {
-		if (driverClass != null && connector != null)
-			c_availDrivers.put(driverClass, connector);
-
-		throw new NullPointerException("driver or connector is null");
-	}
-
-	public void open() throws SQLException, ClassNotFoundException {
-		c_dbConn = connect(getDBName(), getUser(), getPasswd());
-	}
-
-	public void close() throws SQLException {
-		if (c_dbConn == null)
-			return;
-		if (!c_dbConn.isClosed()) {
-			c_dbConn.close();
-			c_dbConn = null;
-		}
-
-	}
-
-	private Connection connect(String dbName, String name, String pwd)
-			throws SQLException, ClassNotFoundException {
-		Connection conn = null;
-		@SuppressWarnings("unused")
-		Class<?> driver = Class.forName(getDriverName());
-		if (name != null)
-			conn = DriverManager.getConnection(getJdbcUrl(), name, pwd);
-		else
-			conn = DriverManager.getConnection(getJdbcUrl());
-		try {
-			setConnectionDB(conn);
-		} catch (SQLException e) {
-			// se va male la setconnectiondb, chiudo la connessione!
-			if (conn != null) {
-				conn.close();
-			}
-			throw e;
-		}
-		return conn;
-	}
-
-	/**
-	 * Setta il nome del database per la connessione corrente.
-	 * 
-	 * @param dbname
-	 *          il nome del DB
-	 */
-	public void setDBName(String dbname) {
-		c_dbName = (null != dbname) ? dbname.trim() : dbname;
-	}
-
-	/**
-	 * Restituisce il nome del database.
-	 * 
-	 * @return String il nome del DB
-	 */
-	public String getDBName() {
-		return c_dbName;
-	}
-
-	public String getUser() {
-		return c_user;
-	}
-
-	public void setUser(String user) {
-		c_user = user;
-	}
-
-	public String getPasswd() {
-		return c_passwd;
-	}
-
-	public void setPasswd(String passwd) {
-		c_passwd = passwd;
-	}
-
-	public String getJdbcUrl() {
-		return c_jdbcUrl;
-	}
-
-	public void setJdbcUrl(String jdbcUrl) {
-		c_jdbcUrl = jdbcUrl;
-	}
-
-	public List<HashMap<String, Object>> getRows(String sql, int maxRecords)
-			throws SQLException {
-		if (!Text.isValue(sql)) {
-			throw new IllegalArgumentException("The query text is null or empty!");
-		}
-		ResultSet rs = null;
-		List<HashMap<String, Object>> rows = new LinkedList<HashMap<String, Object>>();
-		try {
-			rs = createRecordSet(c_dbConn, sql);
-			int nCols = rs.getMetaData().getColumnCount();
-			int count = 0;
-			while (rs.next()) {
-				HashMap<String, Object> map = new HashMap<String, Object>();
-				for (int i = 0; i < nCols; i++) {
-					//forced lower case on column names
-					map.put(rs.getMetaData().getColumnName(i + 1).toLowerCase(),
-							rs.getObject(i + 1));
-				}
-				rows.add(map);
-				count++;
-				if (maxRecords > 0 && count >= maxRecords) {
-					break;
-				}
-			}
-			return rows;
-		} finally {
-			try {
-				if (rs != null)
-					rs.close();
-			} catch (Exception e) {
-				// ignoro
-			}
-		}
-	}
-
-	private ResultSet createRecordSet(Connection conn, String query) throws SQLException {
-		if ((query == null) || (query.length() == 0)) {
-			return null;
-		}
-		PreparedStatement ps = conn.prepareStatement(query,
-				ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-		ResultSet rs = ps.executeQuery();
-		return rs;
-	}
-
-}
+package org.xreports.db;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.xreports.util.Text;
+
+public abstract class GenericDBConn {
+	private String																							c_dbName;
+	private String																							c_user;
+	private String																							c_passwd;
+	private String																							c_jdbcUrl;
+	private Connection																					c_dbConn;
+	private int																									c_fetchSize		= DEFAULT_FETCH_SIZE;
+	private ConnectionPool																			c_pool;
+	private int																									c_statementCacheSize	= DEFAULT_STATEMENT_CACHE_SIZE;
+	/** statement preparati della connessione aperta */
+	private StatementCache																			c_statements;
+	private ResultCache																					c_resultCache;
+
+	/** quantità predefinita di righe richieste al driver ad ogni accesso al cursore */
+	public static final int																			DEFAULT_FETCH_SIZE	= 1000;
+	/** quantità predefinita di statement preparati mantenuti aperti per connessione */
+	public static final int																			DEFAULT_STATEMENT_CACHE_SIZE	= 32;
+
+	private static Map<String, Class<? extends GenericDBConn>>	c_availDrivers;
+
+	static {
+		c_availDrivers = new HashMap<String, Class<? extends GenericDBConn>>();
+		c_availDrivers.put(JtdsDBConn.DriverName, JtdsDBConn.class);
+		c_availDrivers.put(MssqlsDBConn.DriverName, MssqlsDBConn.class);
+		c_availDrivers.put(OracleDBConn.DriverName, OracleDBConn.class);
+		c_availDrivers.put(IfxDBConn.DriverName, IfxDBConn.class);
+		c_availDrivers.put(MysqlDBConn.DriverName, MysqlDBConn.class);
+		c_availDrivers.put(HsqldbDBConn.DriverName, HsqldbDBConn.class);
+		c_availDrivers.put(PostgresqlDBConn.DriverName, PostgresqlDBConn.class);
+	}
+
+	public abstract String getDriverName();
+
+	protected abstract void setConnectionDB(Connection conn) throws SQLException;
+
+	public static GenericDBConn getInstance(String driverClass)
+			throws InstantiationException, IllegalAccessException {
+		Class<? extends GenericDBConn> driver = c_availDrivers.get(driverClass);
+		if (driver != null)
+			return driver.newInstance();
+
+		throw new IllegalArgumentException("Driver " + driverClass
+				+ " not available");
+	}
+
+	public static void registerDriver(String driverClass,
+			Class<? extends GenericDBConn> connector) {
+		if (driverClass != null && connector != null)
+			c_availDrivers.put(driverClass, connector);
+
+		throw new NullPointerException("driver or connector is null");
+	}
+
+	public void open() throws SQLException, ClassNotFoundException {
+		if (c_pool != null) {
+			c_dbConn = c_pool.borrow();
+			// gli statement preparati restano con la connessione fisica
+			c_statements = (StatementCache) c_pool.getAttachment(c_dbConn);
+		} else {
+			c_dbConn = connect(getDBName(), getUser(), getPasswd());
+			c_statements = null;
+		}
+		if (c_statementCacheSize > 0 && c_statements == null) {
+			c_statements = new StatementCache(c_statementCacheSize);
+			if (c_pool != null)
+				c_pool.setAttachment(c_dbConn, c_statements);
+		}
+	}
+
+	/**
+	 * Chiude la connessione; se è stata presa da un {@link ConnectionPool}, la
+	 * restituisce al pool.
+	 */
+	public void close() throws SQLException {
+		if (c_dbConn == null)
+			return;
+		if (c_pool != null) {
+			Connection conn = c_dbConn;
+			c_dbConn = null;
+			c_statements = null;
+			c_pool.release(conn);
+			return;
+		}
+		if (c_statements != null) {
+			c_statements.closeAll();
+			c_statements = null;
+		}
+		if (!c_dbConn.isClosed()) {
+			c_dbConn.close();
+			c_dbConn = null;
+		}
+
+	}
+
+	/**
+	 * Apre una nuova connessione con i parametri di questo oggetto, senza
+	 * usare il pool: è usato da {@link ConnectionPool} per creare le sue
+	 * connessioni.
+	 */
+	Connection createConnection() throws SQLException, ClassNotFoundException {
+		return connect(getDBName(), getUser(), getPasswd());
+	}
+
+	/**
+	 * Imposta il pool da cui {@link #open()} prende la connessione e a cui
+	 * {@link #close()} la restituisce; con null le connessioni vengono aperte e
+	 * chiuse direttamente. Va chiamato a connessione chiusa.
+	 * 
+	 * @param pool
+	 *          pool di connessioni, oppure null
+	 */
+	public void setConnectionPool(ConnectionPool pool) {
+		if (c_dbConn != null)
+			throw new IllegalStateException("Connection already open");
+		c_pool = pool;
+	}
+
+	/**
+	 * @return pool da cui viene presa la connessione, oppure null se la
+	 *         connessione viene aperta direttamente
+	 */
+	public ConnectionPool getConnectionPool() {
+		return c_pool;
+	}
+
+	/**
+	 * Crea una nuova connessione, non ancora aperta, dello stesso tipo e con
+	 * gli stessi parametri e lo stesso pool di questa: serve per eseguire query
+	 * in parallelo su più connessioni.
+	 * 
+	 * @return nuova connessione da aprire con {@link #open()}
+	 * @throws SQLException
+	 *           se non è possibile istanziare la classe della connessione
+	 */
+	public GenericDBConn newConnection() throws SQLException {
+		GenericDBConn conn;
+		try {
+			conn = getClass().getDeclaredConstructor().newInstance();
+		} catch (InstantiationException e) {
+			throw newInstanceError(e);
+		} catch (IllegalAccessException e) {
+			throw newInstanceError(e);
+		} catch (NoSuchMethodException e) {
+			throw newInstanceError(e);
+		} catch (InvocationTargetException e) {
+			throw newInstanceError(e.getCause() != null ? e.getCause() : e);
+		}
+		conn.c_dbName = c_dbName;
+		conn.c_user = c_user;
+		conn.c_passwd = c_passwd;
+		conn.c_jdbcUrl = c_jdbcUrl;
+		conn.c_fetchSize = c_fetchSize;
+		conn.c_pool = c_pool;
+		conn.c_statementCacheSize = c_statementCacheSize;
+		conn.c_resultCache = c_resultCache;
+		return conn;
+	}
+
+	private SQLException newInstanceError(Throwable cause) {
+		return new SQLException("Cannot create a new " + getClass().getName(), cause);
+	}
+
+	/**
+	 * Abilita o disabilita l'uso del pool condiviso, in tutta l'applicazione,
+	 * dalle connessioni con gli stessi parametri (vedi
+	 * {@link ConnectionPool#getShared(GenericDBConn)}). Va chiamato dopo aver
+	 * impostato url, utente e password.
+	 * 
+	 * @param pooled
+	 *          true per usare il pool condiviso
+	 */
+	public void setPooled(boolean pooled) {
+		setConnectionPool(pooled ? ConnectionPool.getShared(this) : null);
+	}
+
+	private Connection connect(String dbName, String name, String pwd)
+			throws SQLException, ClassNotFoundException {
+		Connection conn = null;
+		@SuppressWarnings("unused")
+		Class<?> driver = Class.forName(getDriverName());
+		if (name != null)
+			conn = DriverManager.getConnection(getJdbcUrl(), name, pwd);
+		else
+			conn = DriverManager.getConnection(getJdbcUrl());
+		try {
+			setConnectionDB(conn);
+		} catch (SQLException e) {
+			// se va male la setconnectiondb, chiudo la connessione!
+			if (conn != null) {
+				conn.close();
+			}
+			throw e;
+		}
+		return conn;
+	}
+
+	/**
+	 * Setta il nome del database per la connessione corrente.
+	 * 
+	 * @param dbname
+	 *          il nome del DB
+	 */
+	public void setDBName(String dbname) {
+		c_dbName = (null != dbname) ? dbname.trim() : dbname;
+	}
+
+	/**
+	 * Restituisce il nome del database.
+	 * 
+	 * @return String il nome del DB
+	 */
+	public String getDBName() {
+		return c_dbName;
+	}
+
+	public String getUser() {
+		return c_user;
+	}
+
+	public void setUser(String user) {
+		c_user = user;
+	}
+
+	public String getPasswd() {
+		return c_passwd;
+	}
+
+	public void setPasswd(String passwd) {
+		c_passwd = passwd;
+	}
+
+	public String getJdbcUrl() {
+		return c_jdbcUrl;
+	}
+
+	public void setJdbcUrl(String jdbcUrl) {
+		c_jdbcUrl = jdbcUrl;
+	}
+
+	/**
+	 * Ritorna la quantità di righe che il driver legge dal database ad ogni
+	 * accesso al cursore.
+	 * 
+	 * @see #setFetchSize(int)
+	 */
+	public int getFetchSize() {
+		return c_fetchSize;
+	}
+
+	/**
+	 * Imposta la quantità di righe che il driver legge dal database ad ogni
+	 * accesso al cursore (vedi {@link java.sql.Statement#setFetchSize(int)}). Il
+	 * default è {@link #DEFAULT_FETCH_SIZE}; con 0 si usa il default del driver.
+	 * <p>
+	 * NB: alcuni driver ignorano l'impostazione in certe condizioni (ad esempio
+	 * PostgreSQL con autocommit attivo) e leggono comunque tutte le righe.
+	 * </p>
+	 * 
+	 * @param fetchSize
+	 *          quantità di righe, &gt;= 0
+	 */
+	public void setFetchSize(int fetchSize) {
+		if (fetchSize < 0) {
+			throw new IllegalArgumentException("fetch size must be >= 0");
+		}
+		c_fetchSize = fetchSize;
+	}
+
+	/**
+	 * @return quantità massima di statement preparati mantenuti aperti sulla
+	 *         connessione
+	 * @see #setStatementCacheSize(int)
+	 */
+	public int getStatementCacheSize() {
+		return c_statementCacheSize;
+	}
+
+	/**
+	 * Imposta la quantità massima di statement preparati mantenuti aperti sulla
+	 * connessione, indicizzati per testo della query: la stessa query eseguita
+	 * di nuovo (ad esempio quella di un subreport con parametri <tt>?</tt>, per
+	 * ogni istanza padre) riusa lo statement già preparato, senza che il
+	 * database debba analizzarla di nuovo. Quando gli statement sono troppi
+	 * viene chiuso quello usato meno di recente. Il default è
+	 * {@link #DEFAULT_STATEMENT_CACHE_SIZE}; con 0 gli statement vengono chiusi
+	 * dopo ogni query. Ha effetto dalla successiva {@link #open()}.
+	 * 
+	 * @param size
+	 *          quantità di statement, &gt;= 0
+	 */
+	public void setStatementCacheSize(int size) {
+		if (size < 0) {
+			throw new IllegalArgumentException("statement cache size must be >= 0");
+		}
+		c_statementCacheSize = size;
+	}
+
+	/**
+	 * @return cache dei risultati delle query, oppure null se non è usata
+	 */
+	public ResultCache getResultCache() {
+		return c_resultCache;
+	}
+
+	/**
+	 * Imposta la cache dei risultati delle query: le query eseguite con
+	 * {@link #streamRows(String, List, int, RowHandler)} (e quindi anche con
+	 * {@link #getRows(String, int)}) vengono servite dalla cache, se vi è un
+	 * risultato non scaduto per lo stesso database, testo della query e
+	 * parametri. La stessa cache può essere condivisa da più connessioni.
+	 * 
+	 * @param cache
+	 *          cache dei risultati, oppure null per non usarla
+	 */
+	public void setResultCache(ResultCache cache) {
+		c_resultCache = cache;
+	}
+
+	/**
+	 * Esegue la query passata e ne ritorna tutte le righe in una lista. <br/>
+	 * Per caricare molte righe è preferibile
+	 * {@link #streamRows(String, int, RowHandler)}, che non mantiene in memoria
+	 * tutto il risultato.
+	 * 
+	 * @param sql
+	 *          testo della query
+	 * @param maxRecords
+	 *          quantità massima di righe da leggere; se &lt;= 0 le legge tutte
+	 * @return lista delle righe, ognuna una mappa <b>nome colonna
+	 *         (lower-case)-&gt;valore</b>
+	 * @throws SQLException
+	 *           in caso di errore del database
+	 */
+	public List<HashMap<String, Object>> getRows(String sql, int maxRecords)
+			throws SQLException {
+		RowCollector collector = new RowCollector();
+		try {
+			streamRows(sql, maxRecords, collector);
+		} catch (SQLException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			// RowCollector non emette exception: qui non si arriva mai
+			throw new SQLException(e);
+		}
+		return collector.c_rows;
+	}
+
+	/**
+	 * Esegue la query passata e passa le righe, una alla volta, all'oggetto
+	 * <tt>handler</tt> man mano che vengono lette dal cursore, senza creare
+	 * alcuna lista intermedia. Il cursore è forward-only e read-only e usa la
+	 * fetch size impostata con {@link #setFetchSize(int)}; il cursore viene
+	 * sempre chiuso all'uscita, lo statement viene chiuso oppure rimesso nella
+	 * cache degli statement (vedi {@link #setStatementCacheSize(int)}).
+	 * <p>
+	 * La mappa passata all'handler è una {@link SchemaRow}, la stessa per tutte
+	 * le righe: i valori vengono sovrascritti ad ogni riga, mentre il suo
+	 * {@link RowSchema} viene costruito una volta sola per query.
+	 * </p>
+	 * 
+	 * @param sql
+	 *          testo della query
+	 * @param maxRecords
+	 *          quantità massima di righe da leggere; se &lt;= 0 le legge tutte
+	 * @param handler
+	 *          oggetto che elabora ogni riga
+	 * @return quantità di righe passate all'handler
+	 * @throws SQLException
+	 *           in caso di errore del database
+	 * @throws Exception
+	 *           le exception emesse dall'handler vengono propagate
+	 */
+	public int streamRows(String sql, int maxRecords, RowHandler handler)
+			throws Exception {
+		return streamRows(sql, null, maxRecords, handler);
+	}
+
+	/**
+	 * Come {@link #streamRows(String, int, RowHandler)}, ma la query può
+	 * contenere dei parametri <tt>?</tt>, valorizzati nell'ordine con i valori
+	 * passati in <tt>params</tt>.
+	 * <p>
+	 * Se è impostata una {@link ResultCache}, le righe vengono passate
+	 * dalla cache quando possibile; altrimenti vengono lette dal cursore e
+	 * memorizzate nella cache, se l'handler le ha lette tutte.
+	 * </p>
+	 * 
+	 * @param sql
+	 *          testo della query
+	 * @param params
+	 *          valori dei parametri della query; null se non ci sono parametri
+	 * @param maxRecords
+	 *          quantità massima di righe da leggere; se &lt;= 0 le legge tutte
+	 * @param handler
+	 *          oggetto che elabora ogni riga
+	 * @return quantità di righe passate all'handler
+	 * @throws SQLException
+	 *           in caso di errore del database
+	 * @throws Exception
+	 *           le exception emesse dall'handler vengono propagate
+	 */
+	public int streamRows(String sql, List<?> params, int maxRecords,
+			RowHandler handler) throws Exception {
+		if (!Text.isValue(sql)) {
+			throw new IllegalArgumentException("The query text is null or empty!");
+		}
+		ResultCache resultCache = c_resultCache;
+		if (resultCache != null) {
+			ResultCache.CachedResult cached = resultCache.get(this, sql, params, maxRecords);
+			if (cached != null) {
+				return cached.replay(maxRecords, handler);
+			}
+		}
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+		boolean reuse = false;
+		try {
+			if (c_statements != null)
+				ps = c_statements.take(sql);
+			if (ps == null)
+				ps = createStatement(c_dbConn, sql);
+			setParameters(ps, params);
+			// il limite lo applica anche il database: non legge righe inutili
+			ps.setMaxRows(maxRecords > 0 ? maxRecords : 0);
+			rs = ps.executeQuery();
+			ResultSetMetaData meta = rs.getMetaData();
+			int nCols = meta.getColumnCount();
+			//i nomi delle colonne li leggo una volta sola; lo schema li normalizza in lower case
+			String[] colNames = new String[nCols];
+			for (int i = 0; i < nCols; i++) {
+				colNames[i] = meta.getColumnName(i + 1);
+			}
+			SchemaRow row = new SchemaRow(new RowSchema(colNames));
+			ResultCache.Recorder recorder = resultCache == null ? null
+					: new ResultCache.Recorder(row.getSchema(), resultCache);
+			int count = 0;
+			while (rs.next()) {
+				for (int i = 0; i < nCols; i++) {
+					row.setValue(i, rs.getObject(i + 1));
+				}
+				count++;
+				if (recorder != null)
+					recorder.record(row);
+				if (!handler.handleRow(row)) {
+					// risultato incompleto: non va in cache
+					recorder = null;
+					break;
+				}
+				if (maxRecords > 0 && count >= maxRecords) {
+					break;
+				}
+			}
+			ResultCache.CachedResult result = recorder == null ? null : recorder.getResult();
+			if (result != null) {
+				resultCache.put(this, sql, params, maxRecords, result);
+			}
+			reuse = c_statements != null;
+			return count;
+		} finally {
+			try {
+				if (rs != null)
+					rs.close();
+			} catch (Exception e) {
+				// ignoro
+			}
+			if (reuse) {
+				c_statements.giveBack(sql, ps);
+			} else if (ps != null) {
+				// in caso di errore lo statement potrebbe non essere più utilizzabile
+				StatementCache.closeQuietly(ps);
+			}
+		}
+	}
+
+	/**
+	 * Imposta i parametri della query. I parametri null vengono impostati con
+	 * <tt>setNull</tt> usando il tipo SQL dichiarato dal driver per il
+	 * parametro; se il driver non lo fornisce si usa {@link Types#NULL}.
+	 * 
+	 * @param ps
+	 *          statement da valorizzare
+	 * @param params
+	 *          valori dei parametri, può essere null
+	 * @throws SQLException
+	 */
+	private void setParameters(PreparedStatement ps, List<?> params) throws SQLException {
+		if (params == null)
+			return;
+		ParameterMetaData meta = null;
+		boolean metaRead = false;
+		for (int i = 0; i < params.size(); i++) {
+			Object value = params.get(i);
+			if (value != null) {
+				ps.setObject(i + 1, value);
+				continue;
+			}
+			if (!metaRead) {
+				metaRead = true;
+				try {
+					meta = ps.getParameterMetaData();
+				} catch (SQLException e) {
+					// il driver non fornisce i metadati dei parametri
+				} catch (AbstractMethodError e) {
+					// driver JDBC troppo vecchio
+				}
+			}
+			int sqlType = Types.NULL;
+			if (meta != null) {
+				try {
+					sqlType = meta.getParameterType(i + 1);
+				} catch (SQLException e) {
+					sqlType = Types.NULL;
+				}
+			}
+			ps.setNull(i + 1, sqlType);
+		}
+	}
+
+	/**
+	 * Ritorna le colonne che la query passata produrrebbe, senza eseguirla. Lo
+	 * statement preparato viene rimesso nella cache degli statement, se usata.
+	 * 
+	 * @param sql
+	 *          testo della query
+	 * @return mappa <b>nome colonna-&gt;tipo SQL</b> (vedi {@link java.sql.Types}
+	 *         ), nell'ordine delle colonne della query; null se il driver non
+	 *         fornisce le colonne prima dell'esecuzione
+	 * @throws SQLException
+	 *           in caso di errore del database o se il driver non supporta la
+	 *           funzionalità
+	 */
+	public Map<String, Integer> getQueryColumns(String sql) throws SQLException {
+		if (!Text.isValue(sql)) {
+			throw new IllegalArgumentException("The query text is null or empty!");
+		}
+		PreparedStatement ps = null;
+		boolean reuse = false;
+		try {
+			if (c_statements != null)
+				ps = c_statements.take(sql);
+			if (ps == null)
+				ps = createStatement(c_dbConn, sql);
+			ResultSetMetaData meta = ps.getMetaData();
+			reuse = c_statements != null;
+			if (meta == null) {
+				return null;
+			}
+			Map<String, Integer> columns = new LinkedHashMap<String, Integer>();
+			for (int i = 1; i <= meta.getColumnCount(); i++) {
+				columns.put(meta.getColumnName(i), Integer.valueOf(meta.getColumnType(i)));
+			}
+			return columns;
+		} catch (AbstractMethodError e) {
+			// driver JDBC troppo vecchio
+			throw new SQLException("getMetaData not supported by the JDBC driver");
+		} finally {
+			if (reuse) {
+				c_statements.giveBack(sql, ps);
+			} else if (ps != null) {
+				StatementCache.closeQuietly(ps);
+			}
+		}
+	}
+
+	private PreparedStatement createStatement(Connection conn, String query)
+			throws SQLException {
+		PreparedStatement ps = conn.prepareStatement(query,
+				ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		if (c_fetchSize > 0) {
+			ps.setFetchSize(c_fetchSize);
+		}
+		return ps;
+	}
+
+	/**
+	 * Handler che accumula tutte le righe in una lista, per
+	 * {@link GenericDBConn#getRows(String, int)}.
+	 */
+	private static class RowCollector implements RowHandler {
+		private List<HashMap<String, Object>>	c_rows	= new LinkedList<HashMap<String, Object>>();
+
+		public boolean handleRow(Map<String, Object> row) {
+			c_rows.add(new HashMap<String, Object>(row));
+			return true;
+		}
+	}
+
+}
@@ -0,0 +1,393 @@
+package org.xreports.db;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache dei risultati delle query, da assegnare a una o più connessioni con
+ * {@link GenericDBConn#setResultCache(ResultCache)}: la stessa query,
+ * eseguita con gli stessi parametri sullo stesso database entro
+ * {@link #getTimeToLive()} millisecondi, viene servita dalla cache invece che
+ * dal database. È utile quando lo stesso report viene generato molte volte in
+ * poco tempo (cruscotti, elaborazioni schedulate) e per i subreport di
+ * decodifica, che ripetono la stessa query per molte istanze padre.
+ * <p>
+ * La chiave è formata dal tipo di connessione, url e utente, dal testo della
+ * query con gli spazi normalizzati, dai valori dei parametri e dalla quantità
+ * massima di righe richieste. Le righe sono memorizzate in un unico array di
+ * valori con lo {@link RowSchema} della query; quando la memoria stimata
+ * supera {@link #getMaxBytes()} vengono tolti i risultati usati meno di
+ * recente. I risultati più grandi di un quarto della memoria massima non
+ * vengono memorizzati.
+ * </p>
+ * NB: la cache non sa quando i dati sul database cambiano; va usata solo per
+ * dati per cui un ritardo di {@link #getTimeToLive()} millisecondi è
+ * accettabile, oppure svuotata con {@link #clear()}.
+ */
+public class ResultCache {
+  public static final long                  DEFAULT_TTL       = 5 * 60 * 1000;
+  public static final long                  DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+  private final long                        c_ttl;
+  private final long                        c_maxBytes;
+  private final LinkedHashMap<Key, Entry>   c_entries         = new LinkedHashMap<Key, Entry>(64, 0.75f, true);
+  private long                              c_bytes           = 0;
+
+  private long                              c_hits            = 0;
+  private long                              c_misses          = 0;
+  private long                              c_evictions       = 0;
+
+  /**
+   * Crea una cache con durata {@link #DEFAULT_TTL} e memoria massima
+   * {@link #DEFAULT_MAX_BYTES}.
+   */
+  public ResultCache() {
+    this(DEFAULT_TTL, DEFAULT_MAX_BYTES);
+  }
+
+  /**
+   * @param ttl
+   *          durata di un risultato in cache, in millisecondi
+   * @param maxBytes
+   *          memoria massima stimata occupata dai risultati, in byte
+   */
+  public ResultCache(long ttl, long maxBytes) {
+    if (ttl <= 0 || maxBytes <= 0) {
+      throw new IllegalArgumentException("ttl and maxBytes must be > 0");
+    }
+    c_ttl = ttl;
+    c_maxBytes = maxBytes;
+  }
+
+  /**
+   * Ritorna il risultato in cache della query, se presente e non scaduto.
+   */
+  synchronized CachedResult get(GenericDBConn conn, String sql, List<?> params, int maxRecords) {
+    Key key = new Key(conn, sql, params, maxRecords);
+    Entry e = c_entries.get(key);
+    if (e != null && System.currentTimeMillis() - e.m_created > c_ttl) {
+      remove(key);
+      e = null;
+    }
+    if (e == null) {
+      c_misses++;
+      return null;
+    }
+    c_hits++;
+    return e.m_result;
+  }
+
+  /**
+   * Memorizza il risultato di una query, togliendo i risultati usati meno di
+   * recente se necessario.
+   */
+  synchronized void put(GenericDBConn conn, String sql, List<?> params, int maxRecords, CachedResult result) {
+    if (result.getBytes() > c_maxBytes / 4) {
+      return;
+    }
+    Key key = new Key(conn, sql, params, maxRecords);
+    remove(key);
+    c_entries.put(key, new Entry(result));
+    c_bytes += result.getBytes();
+    long now = System.currentTimeMillis();
+    for (Iterator<Map.Entry<Key, Entry>> it = c_entries.entrySet().iterator(); it.hasNext() && c_bytes > c_maxBytes;) {
+      Map.Entry<Key, Entry> eldest = it.next();
+      if (eldest.getKey() == key) {
+        break;
+      }
+      it.remove();
+      c_bytes -= eldest.getValue().m_result.getBytes();
+      if (now - eldest.getValue().m_created <= c_ttl) {
+        c_evictions++;
+      }
+    }
+  }
+
+  private void remove(Key key) {
+    Entry old = c_entries.remove(key);
+    if (old != null) {
+      c_bytes -= old.m_result.getBytes();
+    }
+  }
+
+  /**
+   * Svuota la cache.
+   */
+  public synchronized void clear() {
+    c_entries.clear();
+    c_bytes = 0;
+  }
+
+  /**
+   * @return durata di un risultato in cache, in millisecondi
+   */
+  public long getTimeToLive() {
+    return c_ttl;
+  }
+
+  /**
+   * @return memoria massima stimata occupata dai risultati, in byte
+   */
+  public long getMaxBytes() {
+    return c_maxBytes;
+  }
+
+  /**
+   * @return quantità di risultati in cache, compresi quelli scaduti non ancora
+   *         tolti
+   */
+  public synchronized int size() {
+    return c_entries.size();
+  }
+
+  /**
+   * @return memoria stimata occupata dai risultati in cache, in byte
+   */
+  public synchronized long getBytes() {
+    return c_bytes;
+  }
+
+  /**
+   * @return quantità di query servite dalla cache
+   */
+  public synchronized long getHits() {
+    return c_hits;
+  }
+
+  /**
+   * @return quantità di query eseguite sul database
+   */
+  public synchronized long getMisses() {
+    return c_misses;
+  }
+
+  /**
+   * @return quantità di risultati non scaduti tolti per mancanza di memoria
+   */
+  public synchronized long getEvictions() {
+    return c_evictions;
+  }
+
+  /**
+   * @return rapporto tra query servite dalla cache e query totali; 0 se non
+   *         è stata eseguita alcuna query
+   */
+  public synchronized double getHitRatio() {
+    long total = c_hits + c_misses;
+    return total == 0 ? 0 : (double) c_hits / total;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "ResultCache[entries=" + c_entries.size() + ", bytes=" + c_bytes + ", hits=" + c_hits + ", misses="
+        + c_misses + ", evictions=" + c_evictions + "]";
+  }
+
+  /**
+   * Ritorna il testo della query senza spazi iniziali e finali e con ogni
+   * sequenza di spazi, tab e a capo ridotta ad un solo spazio. Il testo fra
+   * apici o doppi apici (costanti stringa e identificatori) viene lasciato
+   * com'è, perché gli spazi al suo interno fanno parte del valore.
+   */
+  static String normalize(String sql) {
+    StringBuilder sb = new StringBuilder(sql.length());
+    boolean space = false;
+    char quote = 0;
+    for (int i = 0; i < sql.length(); i++) {
+      char c = sql.charAt(i);
+      if (quote != 0) {
+        sb.append(c);
+        if (c == quote) {
+          quote = 0;
+        }
+      } else if (Character.isWhitespace(c)) {
+        space = sb.length() > 0;
+      } else {
+        if (space) {
+          sb.append(' ');
+          space = false;
+        }
+        sb.append(c);
+        if (c == '\'' || c == '"') {
+          quote = c;
+        }
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Ritorna una copia dei valori modificabili (date, timestamp, array di byte)
+   * letti dal database; gli altri valori sono immutabili e vengono ritornati
+   * così come sono. Serve perché la cache non condivida oggetti con chi
+   * riceve le righe.
+   */
+  static Object copyValue(Object v) {
+    if (v instanceof Date) {
+      // clone mantiene la classe (java.sql.Date, Timestamp con i nanosecondi)
+      return ((Date) v).clone();
+    }
+    if (v instanceof byte[]) {
+      return ((byte[]) v).clone();
+    }
+    return v;
+  }
+
+  /**
+   * Risultato di una query: schema delle colonne e valori di tutte le righe,
+   * riga dopo riga, in un solo array.
+   */
+  static final class CachedResult {
+    private final RowSchema m_schema;
+    private final Object[]  m_values;
+    private final int       m_rows;
+    private final long      m_bytes;
+
+    CachedResult(RowSchema schema, Object[] values, int rows, long bytes) {
+      m_schema = schema;
+      m_values = values;
+      m_rows = rows;
+      m_bytes = bytes;
+    }
+
+    /**
+     * Passa le righe all'handler come farebbe il cursore. I valori modificabili
+     * vengono copiati, quindi l'handler può modificarli senza alterare la
+     * cache.
+     *
+     * @return quantità di righe passate all'handler
+     */
+    int replay(int maxRecords, RowHandler handler) throws Exception {
+      SchemaRow row = new SchemaRow(m_schema);
+      int nCols = m_schema.size();
+      int count = 0;
+      for (int r = 0; r < m_rows; r++) {
+        for (int i = 0; i < nCols; i++) {
+          row.setValue(i, copyValue(m_values[r * nCols + i]));
+        }
+        count++;
+        if ( !handler.handleRow(row) || (maxRecords > 0 && count >= maxRecords)) {
+          break;
+        }
+      }
+      return count;
+    }
+
+    long getBytes() {
+      return m_bytes;
+    }
+  }
+
+  /**
+   * Raccoglie le righe lette dal cursore per costruire un
+   * {@link CachedResult}; smette di raccoglierle se superano la memoria
+   * massima.
+   */
+  static final class Recorder {
+    private final RowSchema    m_schema;
+    private final long         m_limit;
+    private final List<Object> m_values = new ArrayList<Object>();
+    private long               m_bytes  = 64;
+    private int                m_rows   = 0;
+    private boolean            m_overflow;
+
+    Recorder(RowSchema schema, ResultCache cache) {
+      m_schema = schema;
+      m_limit = cache.c_maxBytes / 4;
+    }
+
+    void record(SchemaRow row) {
+      if (m_overflow) {
+        return;
+      }
+      for (int i = 0; i < m_schema.size(); i++) {
+        Object v = row.getValue(i);
+        m_values.add(copyValue(v));
+        m_bytes += estimate(v);
+      }
+      m_rows++;
+      if (m_bytes > m_limit) {
+        m_overflow = true;
+        m_values.clear();
+      }
+    }
+
+    /**
+     * @return risultato raccolto, oppure null se troppo grande
+     */
+    CachedResult getResult() {
+      if (m_overflow) {
+        return null;
+      }
+      return new CachedResult(m_schema, m_values.toArray(), m_rows, m_bytes + 8L * m_values.size());
+    }
+
+    private static long estimate(Object v) {
+      if (v == null) {
+        return 0;
+      }
+      if (v instanceof String) {
+        return 40 + 2L * ((String) v).length();
+      }
+      if (v instanceof BigDecimal) {
+        return 64;
+      }
+      if (v instanceof Number || v instanceof Boolean) {
+        return 24;
+      }
+      if (v instanceof Date) {
+        return 32;
+      }
+      if (v instanceof byte[]) {
+        return 16 + ((byte[]) v).length;
+      }
+      return 64;
+    }
+  }
+
+  private static final class Entry {
+    private final CachedResult m_result;
+    private final long         m_created = System.currentTimeMillis();
+
+    Entry(CachedResult result) {
+      m_result = result;
+    }
+  }
+
+  private static final class Key {
+    private final String   m_conn;
+    private final String   m_sql;
+    private final Object[] m_params;
+    private final int      m_maxRecords;
+    private final int      m_hash;
+
+    Key(GenericDBConn conn, String sql, List<?> params, int maxRecords) {
+      m_conn = conn.getClass().getName() + '\n' + conn.getJdbcUrl() + '\n' + conn.getUser();
+      m_sql = normalize(sql);
+      m_params = params == null ? new Object[0] : params.toArray();
+      m_maxRecords = maxRecords > 0 ? maxRecords : 0;
+      m_hash = (m_conn.hashCode() * 31 + m_sql.hashCode()) * 31 + Arrays.hashCode(m_params) + m_maxRecords;
+    }
+
+    @Override
+    public int hashCode() {
+      return m_hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if ( !(obj instanceof Key)) {
+        return false;
+      }
+      Key k = (Key) obj;
+      return m_hash == k.m_hash && m_maxRecords == k.m_maxRecords && m_sql.equals(k.m_sql) && m_conn.equals(k.m_conn)
+          && Arrays.equals(m_params, k.m_params);
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package org.xreports.db;
+
+import java.util.Map;
+
+/**
+ * Riceve una alla volta le righe lette da
+ * {@link GenericDBConn#streamRows(String, int, RowHandler)} direttamente dal
+ * cursore aperto sul database.
+ */
+public interface RowHandler {
+  /**
+   * Elabora una riga di dati. La mappa passata viene riutilizzata per la riga
+   * successiva: non va mantenuta dopo la fine della chiamata.
+   * 
+   * @param row
+   *          mappa <b>nome colonna (lower-case)-&gt;valore</b> della riga
+   *          corrente; è una {@link SchemaRow}, i cui valori si possono
+   *          leggere anche per posizione
+   * @return true per continuare la lettura, false per interromperla
+   * @throws Exception
+   *           in caso di errore nell'elaborazione della riga: la lettura viene
+   *           interrotta e il cursore chiuso
+   */
+  public boolean handleRow(Map<String, Object> row) throws Exception;
+}
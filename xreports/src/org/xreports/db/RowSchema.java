@@ -0,0 +1,78 @@
+package org.xreports.db;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Struttura delle colonne di un insieme di righe di dati: nomi delle colonne,
+ * normalizzati in lower-case, e relativa posizione nella riga. <br/>
+ * Viene costruita una volta sola per ogni query (o file di dati) ed è
+ * condivisa da tutte le righe lette, rappresentate da {@link SchemaRow}: chi
+ * elabora le righe può così ricavare una volta sola la posizione di una colonna
+ * con {@link #indexOf(String)} e poi accedere ai valori per posizione. <br/>
+ * L'oggetto è immutabile.
+ */
+public final class RowSchema {
+  private final String[]             c_names;
+  private final Map<String, Integer> c_indexes;
+
+  /**
+   * Costruisce la struttura con i nomi di colonna passati.
+   *
+   * @param names
+   *          nomi delle colonne, nell'ordine in cui compaiono nella riga; non
+   *          sono case-sensitive
+   */
+  public RowSchema(String[] names) {
+    c_names = new String[names.length];
+    c_indexes = new HashMap<String, Integer>(names.length * 2);
+    for (int i = 0; i < names.length; i++) {
+      c_names[i] = names[i].toLowerCase();
+      c_indexes.put(c_names[i], Integer.valueOf(i));
+    }
+  }
+
+  /**
+   * @return quantità di colonne
+   */
+  public int size() {
+    return c_names.length;
+  }
+
+  /**
+   * @return nome (lower-case) della colonna nella posizione data
+   */
+  public String getName(int index) {
+    return c_names[index];
+  }
+
+  /**
+   * Ritorna la posizione della colonna con il nome dato.
+   *
+   * @param name
+   *          nome della colonna (<b>non</b> è case-sensitive)
+   * @return posizione della colonna, oppure -1 se non esiste
+   */
+  public int indexOf(String name) {
+    Integer i = c_indexes.get(name);
+    if (i == null) {
+      i = c_indexes.get(name.toLowerCase());
+      if (i == null) {
+        return -1;
+      }
+    }
+    return i.intValue();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("RowSchema[");
+    for (int i = 0; i < c_names.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append(c_names[i]);
+    }
+    return sb.append(']').toString();
+  }
+}
@@ -0,0 +1,208 @@
+package org.xreports.db;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Riga di dati con i valori mantenuti in un array, nell'ordine delle colonne
+ * del {@link RowSchema} condiviso da tutte le righe della stessa query. <br/>
+ * La riga è anche una {@link Map} <b>nome colonna-&gt;valore</b>, per cui può
+ * essere passata dove sono attese le mappe dei dati; chi conosce lo schema può
+ * però leggere i valori per posizione con {@link #getValue(int)}, senza
+ * calcolare hash o creare stringhe per ogni valore.
+ * <p>
+ * Le colonne dello schema sono fisse: {@link #clear()} ne azzera i valori
+ * senza toglierle. Come in una HashMap, {@link #put(String, Object)} accetta
+ * anche chiavi che non sono colonne dello schema: vengono mantenute in una
+ * mappa a parte, creata solo quando serve, e possono essere tolte.
+ * </p>
+ */
+public class SchemaRow extends AbstractMap<String, Object> {
+  private final RowSchema     c_schema;
+  private final Object[]      c_values;
+  /** valori delle chiavi che non sono colonne dello schema */
+  private Map<String, Object> c_extra;
+
+  /**
+   * Crea una riga con tutti i valori a null.
+   *
+   * @param schema
+   *          struttura delle colonne della riga
+   */
+  public SchemaRow(RowSchema schema) {
+    c_schema = schema;
+    c_values = new Object[schema.size()];
+  }
+
+  /**
+   * @return struttura delle colonne della riga
+   */
+  public RowSchema getSchema() {
+    return c_schema;
+  }
+
+  /**
+   * @return valore della colonna nella posizione data
+   */
+  public Object getValue(int index) {
+    return c_values[index];
+  }
+
+  /**
+   * Imposta il valore della colonna nella posizione data.
+   */
+  public void setValue(int index, Object value) {
+    c_values[index] = value;
+  }
+
+  /**
+   * @return nuova riga con lo stesso schema e una copia dei valori di questa
+   */
+  public SchemaRow copy() {
+    SchemaRow row = new SchemaRow(c_schema);
+    System.arraycopy(c_values, 0, row.c_values, 0, c_values.length);
+    if (c_extra != null) {
+      row.c_extra = new LinkedHashMap<String, Object>(c_extra);
+    }
+    return row;
+  }
+
+  @Override
+  public int size() {
+    return c_values.length + (c_extra == null ? 0 : c_extra.size());
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    if (key instanceof String && c_schema.indexOf((String) key) >= 0) {
+      return true;
+    }
+    return c_extra != null && c_extra.containsKey(key);
+  }
+
+  @Override
+  public Object get(Object key) {
+    if ( !(key instanceof String)) {
+      return null;
+    }
+    int i = c_schema.indexOf((String) key);
+    if (i < 0) {
+      return c_extra == null ? null : c_extra.get(key);
+    }
+    return c_values[i];
+  }
+
+  @Override
+  public Object put(String key, Object value) {
+    int i = c_schema.indexOf(key);
+    if (i < 0) {
+      if (c_extra == null) {
+        c_extra = new LinkedHashMap<String, Object>();
+      }
+      return c_extra.put(key, value);
+    }
+    Object old = c_values[i];
+    c_values[i] = value;
+    return old;
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(c_values, null);
+    c_extra = null;
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet() {
+    return new EntrySet();
+  }
+
+  private class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+    @Override
+    public int size() {
+      return SchemaRow.this.size();
+    }
+
+    @Override
+    public Iterator<Map.Entry<String, Object>> iterator() {
+      return new EntryIterator();
+    }
+  }
+
+  private class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+    private int                                 m_next = 0;
+    /** iteratore delle chiavi fuori schema, dopo le colonne */
+    private Iterator<Map.Entry<String, Object>> m_extra;
+
+    public boolean hasNext() {
+      if (m_next < c_values.length) {
+        return true;
+      }
+      if (m_extra == null && c_extra != null) {
+        m_extra = c_extra.entrySet().iterator();
+      }
+      return m_extra != null && m_extra.hasNext();
+    }
+
+    public Map.Entry<String, Object> next() {
+      if (m_next < c_values.length) {
+        return new Entry(m_next++);
+      }
+      if ( !hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return m_extra.next();
+    }
+
+    public void remove() {
+      if (m_extra == null) {
+        throw new UnsupportedOperationException("Le colonne dello schema di una SchemaRow sono fisse");
+      }
+      m_extra.remove();
+    }
+  }
+
+  private class Entry implements Map.Entry<String, Object> {
+    private final int m_index;
+
+    Entry(int index) {
+      m_index = index;
+    }
+
+    public String getKey() {
+      return c_schema.getName(m_index);
+    }
+
+    public Object getValue() {
+      return c_values[m_index];
+    }
+
+    public Object setValue(Object value) {
+      Object old = c_values[m_index];
+      c_values[m_index] = value;
+      return old;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if ( !(o instanceof Map.Entry<?, ?>)) {
+        return false;
+      }
+      Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+      Object v = getValue();
+      return getKey().equals(e.getKey()) && (v == null ? e.getValue() == null : v.equals(e.getValue()));
+    }
+
+    @Override
+    public int hashCode() {
+      Object v = getValue();
+      return getKey().hashCode() ^ (v == null ? 0 : v.hashCode());
+    }
+  }
+}
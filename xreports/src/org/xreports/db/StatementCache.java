@@ -0,0 +1,78 @@
+package org.xreports.db;
+
+import java.sql.PreparedStatement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statement già preparati di una connessione, indicizzati per testo della
+ * query; quando sono più di {@link #getMaxSize()} viene chiuso quello usato
+ * meno di recente. <br/>
+ * Uno statement in uso viene tolto dalla cache con {@link #take(String)} e
+ * rimesso con {@link #giveBack(String, PreparedStatement)} a fine lettura:
+ * in questo modo la stessa query eseguita mentre il cursore precedente è
+ * ancora aperto (ad esempio nei subreport annidati) usa un altro statement.
+ */
+class StatementCache extends LinkedHashMap<String, PreparedStatement> {
+  private static final long serialVersionUID = -4818617925113047318L;
+
+  private final int         m_maxSize;
+
+  StatementCache(int maxSize) {
+    super(16, 0.75f, true);
+    m_maxSize = maxSize;
+  }
+
+  /**
+   * @return quantità massima di statement mantenuti aperti
+   */
+  int getMaxSize() {
+    return m_maxSize;
+  }
+
+  /**
+   * Toglie dalla cache lo statement della query passata.
+   *
+   * @return statement preparato, oppure null se non è in cache
+   */
+  PreparedStatement take(String sql) {
+    return remove(sql);
+  }
+
+  /**
+   * Rimette in cache uno statement al termine del suo utilizzo.
+   */
+  void giveBack(String sql, PreparedStatement ps) {
+    PreparedStatement old = put(sql, ps);
+    if (old != null && old != ps) {
+      closeQuietly(old);
+    }
+  }
+
+  /**
+   * Chiude tutti gli statement e svuota la cache.
+   */
+  void closeAll() {
+    for (PreparedStatement ps : values()) {
+      closeQuietly(ps);
+    }
+    clear();
+  }
+
+  @Override
+  protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+    if (size() > m_maxSize) {
+      closeQuietly(eldest.getValue());
+      return true;
+    }
+    return false;
+  }
+
+  static void closeQuietly(PreparedStatement ps) {
+    try {
+      ps.close();
+    } catch (Exception e) {
+      // ignoro
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package org.xreports.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Indice che associa le linee del sorgente espanso (con gli elementi
+ * <tt>include</tt> già sostituiti dal contenuto incluso) al file e alla linea
+ * di provenienza. <br/>
+ * Per ogni include viene calcolata una volta sola la prima linea occupata nel
+ * sorgente espanso e la quantità di linee aggiunte fino a lì: la ricerca di una
+ * linea è quindi binaria invece che una scansione di tutti gli include. <br/>
+ * L'oggetto è immutabile.
+ */
+final class IncludeLineIndex {
+  private final XReport.IncludeInfo[] c_includes;
+  /** prima linea di ogni include nel sorgente espanso */
+  private final int[]                 c_expandedStart;
+  /** linee aggiunte al sorgente originale dagli include fino a quello corrente compreso */
+  private final int[]                 c_addedLines;
+
+  /**
+   * @param includes
+   *          include del sorgente; la linea di inizio di ognuno è quella del
+   *          sorgente originale
+   */
+  IncludeLineIndex(Collection<XReport.IncludeInfo> includes) {
+    List<XReport.IncludeInfo> sorted = new ArrayList<XReport.IncludeInfo>(includes);
+    Collections.sort(sorted, new StartLineComparator());
+    c_includes = sorted.toArray(new XReport.IncludeInfo[sorted.size()]);
+    c_expandedStart = new int[c_includes.length];
+    c_addedLines = new int[c_includes.length];
+    int added = 0;
+    for (int i = 0; i < c_includes.length; i++) {
+      c_expandedStart[i] = c_includes[i].getStartLine() + added;
+      // sottraggo 1 perchè la riga con il tag <include> originale la conto
+      added += c_includes[i].getLinesCount() - 1;
+      c_addedLines[i] = added;
+    }
+  }
+
+  /**
+   * @param line
+   *          linea del sorgente espanso
+   * @return include che contiene la linea passata, null se la linea non fa
+   *         parte di un include
+   */
+  XReport.IncludeInfo getInclude(int line) {
+    int i = find(line);
+    if (i >= 0 && isInside(i, line)) {
+      return c_includes[i];
+    }
+    return null;
+  }
+
+  /**
+   * @param line
+   *          linea del sorgente espanso
+   * @return linea corrispondente nel file di provenienza: il file incluso se la
+   *         linea fa parte di un include, altrimenti il sorgente originale
+   */
+  int getOriginalLine(int line) {
+    int i = find(line);
+    if (i < 0) {
+      return line;
+    }
+    if (isInside(i, line)) {
+      return line - c_expandedStart[i] + 1;
+    }
+    return line - c_addedLines[i];
+  }
+
+  private boolean isInside(int i, int line) {
+    return line <= c_expandedStart[i] + c_includes[i].getLinesCount();
+  }
+
+  /**
+   * @return indice dell'ultimo include che inizia prima della linea passata o
+   *         sulla linea stessa, -1 se non ce ne sono
+   */
+  private int find(int line) {
+    int low = 0;
+    int high = c_expandedStart.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (c_expandedStart[mid] <= line) {
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return high;
+  }
+
+  private static class StartLineComparator implements Comparator<XReport.IncludeInfo> {
+    public int compare(XReport.IncludeInfo o1, XReport.IncludeInfo o2) {
+      return o1.getStartLine() < o2.getStartLine() ? -1 : (o1.getStartLine() == o2.getStartLine() ? 0 : 1);
+    }
+  }
+}
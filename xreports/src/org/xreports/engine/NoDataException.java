@@ -1,14 +1,14 @@
-package org.xreports.engine;
-
-public class NoDataException extends DataException {
-  private static final long serialVersionUID = 1L;
-
-  public NoDataException() {
-    super();
-  }
-
-  public NoDataException(String s) {
-    super(s);
-  }
-
-}
+package org.xreports.engine;
+
+public class NoDataException extends DataException {
+  private static final long serialVersionUID = 1L;
+
+  public NoDataException() {
+    super();
+  }
+
+  public NoDataException(String s) {
+    super(s);
+  }
+
+}
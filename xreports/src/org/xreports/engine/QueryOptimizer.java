@@ -0,0 +1,496 @@
+package org.xreports.engine;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.xreports.datagroup.DataFieldModel;
+import org.xreports.datagroup.GroupModel;
+import org.xreports.datagroup.RootModel;
+import org.xreports.expressions.symbols.BoolTerm;
+import org.xreports.expressions.symbols.Field;
+import org.xreports.expressions.symbols.MathValue;
+import org.xreports.expressions.symbols.NumberLiteral;
+import org.xreports.expressions.symbols.Operator;
+import org.xreports.expressions.symbols.RelExpr;
+import org.xreports.expressions.symbols.RootBoolExpression;
+import org.xreports.expressions.symbols.StringLiteral;
+import org.xreports.expressions.symbols.Symbol;
+import org.xreports.expressions.symbols.UnaryMinus;
+
+/**
+ * Riscrittura della query del report principale (vedi
+ * {@link XReport#setQueryOptimization(boolean)}). La query originale viene
+ * racchiusa in una <tt>select</tt> esterna:
+ *
+ * <pre>
+ * select col1, col2 from (query originale) xr_q where filtro order by ordinamento
+ * </pre>
+ * <ul>
+ * <li>le colonne sono solo quelle lette dai gruppi del report principale:
+ * campi non automatici, campi chiave e campi usati nei filtri. I subreport
+ * leggono i dati con le proprie query.</li>
+ * <li>il filtro è l'OR dei filtri dei gruppi di primo livello tradotti in SQL:
+ * una riga che nessuno di questi gruppi accetta non arriva a nessun gruppo.
+ * Delle condizioni in AND vengono tradotte quelle possibili, mentre se una
+ * condizione in OR non è traducibile il filtro non viene applicato: il filtro
+ * SQL accetta quindi almeno tutte le righe accettate dai gruppi, che
+ * continuano a valutare il proprio filtro in caricamento.</li>
+ * <li>l'ordinamento della query originale viene spostato nella select esterna,
+ * dato che l'ordine di una subquery non è garantito; se non è composto solo da
+ * nomi o posizioni di colonne la query non viene riscritta.</li>
+ * </ul>
+ * Vengono tradotti solo i confronti tra un campo e un numero, se la colonna è
+ * numerica, e l'uguaglianza tra un campo e una stringa, se la colonna è di
+ * testo: sono i soli casi in cui il database valuta la condizione come il
+ * report.
+ */
+class QueryOptimizer {
+  /** alias della query originale nella select esterna */
+  static final String                ALIAS       = "xr_q";
+  /** la query contiene costrutti che non so analizzare */
+  private static final int           UNSUPPORTED = -2;
+
+  private static final Pattern       IDENTIFIER  = Pattern.compile("[A-Za-z_][A-Za-z0-9_$#]*");
+  private static final Pattern       NUMBER      = Pattern.compile("[0-9]+(\\.[0-9]+)?");
+
+  private final RootModel            m_root;
+  /** nomi delle colonne della query originale, nell'ordine */
+  private final List<String>         m_columns   = new ArrayList<String>();
+  /** nome colonna lower-case --&gt; nome colonna */
+  private final Map<String, String>  m_names     = new HashMap<String, String>();
+  /** nome colonna lower-case --&gt; tipo SQL */
+  private final Map<String, Integer> m_types     = new HashMap<String, Integer>();
+
+  /**
+   * @param root
+   *          modello radice del report principale
+   * @param columns
+   *          colonne della query originale (vedi
+   *          {@link org.xreports.db.GenericDBConn#getQueryColumns(String)})
+   */
+  QueryOptimizer(RootModel root, Map<String, Integer> columns) {
+    m_root = root;
+    for (Map.Entry<String, Integer> col : columns.entrySet()) {
+      String lower = col.getKey().toLowerCase();
+      m_columns.add(col.getKey());
+      m_names.put(lower, col.getKey());
+      m_types.put(lower, col.getValue());
+    }
+  }
+
+  /**
+   * Riscrive la query passata.
+   *
+   * @param sql
+   *          query originale
+   * @return query riscritta, oppure null se la query non si può riscrivere o
+   *         se la riscrittura non leggerebbe meno dati
+   */
+  String optimize(String sql) {
+    String body = sql.trim();
+    if ( !body.regionMatches(true, 0, "select", 0, 6) || m_columns.isEmpty()) {
+      return null;
+    }
+    int orderPos = findOrderBy(body);
+    if (orderPos == UNSUPPORTED) {
+      return null;
+    }
+    Set<String> used = new HashSet<String>();
+    collectFields(m_root, used);
+
+    String orderBy = null;
+    if (orderPos >= 0) {
+      orderBy = translateOrderBy(body.substring(orderPos), used);
+      if (orderBy == null) {
+        return null;
+      }
+      body = body.substring(0, orderPos).trim();
+    }
+    String where = translateFilters();
+    String select = translateColumns(used);
+    if (select == null && where == null) {
+      return null;
+    }
+
+    StringBuilder sb = new StringBuilder(body.length() + 64);
+    sb.append("select ").append(select == null ? "*" : select);
+    sb.append(" from (").append(body).append(") ").append(ALIAS);
+    if (where != null) {
+      sb.append(" where ").append(where);
+    }
+    if (orderBy != null) {
+      sb.append(" order by ").append(orderBy);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Raccoglie i nomi (lower-case) delle colonne lette dai gruppi del modello
+   * passato e dei suoi discendenti, esclusi i subreport.
+   */
+  private void collectFields(GroupModel model, Set<String> used) {
+    for (DataFieldModel f : model.getFields()) {
+      if ( !f.isAuto()) {
+        used.add(f.getNome().toLowerCase());
+      }
+    }
+    for (String key : model.getKeyFieldNames()) {
+      used.add(key.toLowerCase());
+    }
+    if (model.getFilterInclude() != null) {
+      collectFilterFields(model.getFilterInclude(), used);
+    }
+    for (GroupModel child : model.getChildModels()) {
+      if ( !child.isSubreport()) {
+        collectFields(child, used);
+      }
+    }
+  }
+
+  private void collectFilterFields(Symbol s, Set<String> used) {
+    if (s.isField()) {
+      used.add(((Field) s).getField().toLowerCase());
+    }
+    for (int i = 0; i < s.getChildNumber(); i++) {
+      collectFilterFields(s.getChild(i), used);
+    }
+  }
+
+  /**
+   * @return elenco delle colonne da leggere, oppure null se servono tutte
+   */
+  private String translateColumns(Set<String> used) {
+    StringBuilder sb = new StringBuilder();
+    int count = 0;
+    for (String col : m_columns) {
+      if (used.contains(col.toLowerCase())) {
+        if ( !IDENTIFIER.matcher(col).matches()) {
+          return null;
+        }
+        if (count > 0) {
+          sb.append(", ");
+        }
+        sb.append(col);
+        count++;
+      }
+    }
+    if (count == 0 || count == m_columns.size()) {
+      return null;
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Traduce i filtri dei gruppi di primo livello.
+   *
+   * @return condizione SQL, oppure null se almeno uno dei gruppi non ha un
+   *         filtro traducibile o se il gruppo radice ha campi propri
+   */
+  private String translateFilters() {
+    for (DataFieldModel f : m_root.getFields()) {
+      if ( !f.isAuto()) {
+        //i campi della radice prendono i valori anche dalle righe scartate
+        return null;
+      }
+    }
+    List<String> parts = new ArrayList<String>();
+    for (GroupModel child : m_root.getChildModels()) {
+      if (child.isSubreport()) {
+        continue;
+      }
+      if (child.getFilterInclude() == null) {
+        return null;
+      }
+      String cond = translate(child.getFilterInclude());
+      if (cond == null) {
+        return null;
+      }
+      parts.add(cond);
+    }
+    return join(parts, " or ");
+  }
+
+  /**
+   * Traduce una espressione booleana.
+   *
+   * @return condizione SQL che accetta almeno le righe accettate
+   *         dall'espressione, oppure null se non traducibile
+   */
+  private String translate(Symbol s) {
+    if (s instanceof RelExpr) {
+      return translateRelation(s);
+    }
+    if ( !(s instanceof RootBoolExpression) && !(s instanceof BoolTerm) || s.getChildNumber() == 0) {
+      return null;
+    }
+    //primo operando, poi catena di BoolExprOpt/BoolTermOpt: operatore, operando, resto della catena
+    List<String> parts = new ArrayList<String>();
+    parts.add(translate(s.getChild(0)));
+    Boolean and = null;
+    Symbol opt = s.getChildNumber() > 1 ? s.getChild(1) : null;
+    while (opt != null) {
+      if (opt.getChildNumber() < 2 || !(opt.getChild(0) instanceof Operator)) {
+        return null;
+      }
+      Operator op = (Operator) opt.getChild(0);
+      if ( !op.isAND() && !op.isOR()) {
+        return null;
+      }
+      if (and != null && and.booleanValue() != op.isAND()) {
+        return null;
+      }
+      and = Boolean.valueOf(op.isAND());
+      parts.add(translate(opt.getChild(1)));
+      opt = opt.getChildNumber() > 2 ? opt.getChild(2) : null;
+    }
+    if (and == null || and.booleanValue()) {
+      //in AND posso tralasciare le condizioni non traducibili
+      while (parts.remove(null)) {
+        //rimuovo tutti i null
+      }
+      return join(parts, " and ");
+    }
+    return parts.contains(null) ? null : join(parts, " or ");
+  }
+
+  private String translateRelation(Symbol rel) {
+    if (rel.getChildNumber() != 3 || !(rel.getChild(1) instanceof Operator)) {
+      return null;
+    }
+    Symbol left = rel.getChild(0);
+    Symbol right = rel.getChild(2);
+    String op = rel.getChild(1).getText();
+    if ( !left.isField()) {
+      //letterale a sinistra: scambio gli operandi
+      Symbol tmp = left;
+      left = right;
+      right = tmp;
+      op = reverse(op);
+    }
+    if ( !left.isField() || op == null || reverse(op) == null) {
+      return null;
+    }
+    Field field = (Field) left;
+    if (field.getGroup() != null) {
+      return null;
+    }
+    String lower = field.getField().toLowerCase();
+    String col = m_names.get(lower);
+    if (col == null || !IDENTIFIER.matcher(col).matches()) {
+      return null;
+    }
+    int type = m_types.get(lower).intValue();
+
+    String number = getNumber(right);
+    if (number != null && isNumeric(type)) {
+      if (op.equals(Operator.NEQ)) {
+        //per il report null != numero è vero
+        return "(" + col + " <> " + number + " or " + col + " is null)";
+      }
+      return col + " " + op + " " + number;
+    }
+    if (right instanceof StringLiteral && op.equals(Operator.EQ) && isText(type)) {
+      String text = right.getText();
+      if (text.length() == 0 || text.indexOf('\\') >= 0) {
+        return null;
+      }
+      return col + " = '" + text.replace("'", "''") + "'";
+    }
+    return null;
+  }
+
+  /**
+   * @return testo del numero letterale passato, oppure null se il simbolo non
+   *         è un numero letterale
+   */
+  private String getNumber(Symbol s) {
+    String sign = "";
+    if (s instanceof MathValue && s.getChildNumber() == 2 && s.getChild(0) instanceof UnaryMinus) {
+      sign = "-";
+      s = s.getChild(1);
+    }
+    if (s instanceof NumberLiteral && NUMBER.matcher(s.getText()).matches()) {
+      return sign + s.getText();
+    }
+    return null;
+  }
+
+  private static String reverse(String op) {
+    if (op.equals(Operator.EQ) || op.equals(Operator.NEQ)) {
+      return op;
+    }
+    if (op.equals(Operator.GT)) {
+      return Operator.LT;
+    }
+    if (op.equals(Operator.GTE)) {
+      return Operator.LTE;
+    }
+    if (op.equals(Operator.LT)) {
+      return Operator.GT;
+    }
+    if (op.equals(Operator.LTE)) {
+      return Operator.GTE;
+    }
+    return null;
+  }
+
+  private static boolean isNumeric(int type) {
+    switch (type) {
+      case Types.TINYINT:
+      case Types.SMALLINT:
+      case Types.INTEGER:
+      case Types.BIGINT:
+      case Types.REAL:
+      case Types.FLOAT:
+      case Types.DOUBLE:
+      case Types.NUMERIC:
+      case Types.DECIMAL:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static boolean isText(int type) {
+    switch (type) {
+      case Types.CHAR:
+      case Types.VARCHAR:
+      case Types.NCHAR:
+      case Types.NVARCHAR:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Traduce l'ordinamento della query originale in quello della select
+   * esterna, aggiungendo le colonne di ordinamento a quelle lette.
+   *
+   * @param orderBy
+   *          testo che inizia con <tt>order by</tt>
+   * @return elenco di ordinamento (senza <tt>order by</tt>), oppure null se non
+   *         traducibile
+   */
+  private String translateOrderBy(String orderBy, Set<String> used) {
+    String list = orderBy.substring(5).trim().substring(2);
+    StringBuilder items = new StringBuilder();
+    for (String item : list.split(",")) {
+      String[] words = item.trim().split("\\s+");
+      String col;
+      if (NUMBER.matcher(words[0]).matches() && words[0].indexOf('.') < 0) {
+        int index = Integer.parseInt(words[0]) - 1;
+        if (index < 0 || index >= m_columns.size()) {
+          return null;
+        }
+        col = m_columns.get(index);
+      } else {
+        col = m_names.get(words[0].toLowerCase());
+      }
+      if (col == null || !IDENTIFIER.matcher(col).matches()) {
+        return null;
+      }
+      if (items.length() > 0) {
+        items.append(", ");
+      }
+      items.append(col);
+      for (int i = 1; i < words.length; i++) {
+        String w = words[i].toLowerCase();
+        if ( !w.equals("asc") && !w.equals("desc") && !w.equals("nulls") && !w.equals("first") && !w.equals("last")) {
+          return null;
+        }
+        items.append(' ').append(words[i]);
+      }
+      used.add(col.toLowerCase());
+    }
+    return items.toString();
+  }
+
+  /**
+   * Cerca l'ultimo <tt>order by</tt> fuori da parentesi, stringhe e
+   * identificatori tra virgolette.
+   *
+   * @return posizione di <tt>order</tt>, -1 se non c'è, {@link #UNSUPPORTED}
+   *         se la query contiene commenti o più istruzioni
+   */
+  private static int findOrderBy(String sql) {
+    int depth = 0;
+    int found = -1;
+    int len = sql.length();
+    for (int i = 0; i < len; i++) {
+      char c = sql.charAt(i);
+      switch (c) {
+        case '\'':
+        case '"':
+        case '[':
+          int end = sql.indexOf(c == '[' ? ']' : c, i + 1);
+          if (end < 0) {
+            return UNSUPPORTED;
+          }
+          i = end;
+          break;
+        case '(':
+          depth++;
+          break;
+        case ')':
+          depth--;
+          break;
+        case ';':
+          return UNSUPPORTED;
+        case '-':
+        case '/':
+          if (i + 1 < len && sql.charAt(i + 1) == (c == '-' ? '-' : '*')) {
+            return UNSUPPORTED;
+          }
+          break;
+        default:
+          if (depth == 0 && (c == 'o' || c == 'O') && (i == 0 || !isWordChar(sql.charAt(i - 1)))
+              && sql.regionMatches(true, i, "order", 0, 5) && (i + 5 == len || !isWordChar(sql.charAt(i + 5)))) {
+            int j = i + 5;
+            while (j < len && Character.isWhitespace(sql.charAt(j))) {
+              j++;
+            }
+            if (j > i + 5 && sql.regionMatches(true, j, "by", 0, 2) && j + 2 < len
+                && Character.isWhitespace(sql.charAt(j + 2))) {
+              found = i;
+            }
+          }
+      }
+    }
+    if (found >= 0 && depth == 0) {
+      //dopo l'order by non devono esserci parentesi o stringhe (limit, funzioni...)
+      String tail = sql.substring(found);
+      if (tail.indexOf('(') >= 0 || tail.indexOf('\'') >= 0 || tail.indexOf('"') >= 0) {
+        return UNSUPPORTED;
+      }
+    }
+    return depth == 0 ? found : UNSUPPORTED;
+  }
+
+  private static boolean isWordChar(char c) {
+    return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#';
+  }
+
+  private static String join(List<String> parts, String separator) {
+    if (parts.isEmpty()) {
+      return null;
+    }
+    if (parts.size() == 1) {
+      return parts.get(0);
+    }
+    StringBuilder sb = new StringBuilder();
+    for (String part : parts) {
+      if (sb.length() > 0) {
+        sb.append(separator);
+      }
+      sb.append('(').append(part).append(')');
+    }
+    return sb.toString();
+  }
+}
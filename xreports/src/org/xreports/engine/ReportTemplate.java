@@ -0,0 +1,188 @@
+package org.xreports.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sorgente di un report già preprocessato, riutilizzabile in più esecuzioni di
+ * {@link XReport}, anche contemporanee su thread diversi. <br/>
+ * Contiene tutto quello che la fase di preprocessing ricava dal sorgente XML:
+ * encoding, versione e path del XML Schema da usare per la validazione, testo
+ * del sorgente con gli elementi <tt>include</tt> già espansi e mappa delle
+ * linee incluse. Una esecuzione che usa un template (vedi
+ * {@link XReport#setReportTemplate(ReportTemplate)}) salta quindi la
+ * lettura del sorgente, il parsing degli include e la deduzione del charset,
+ * ed effettua solo la validazione, il caricamento dei dati e la generazione.
+ * <p>
+ * La struttura degli elementi del report non fa parte del template perchè
+ * contiene lo stato della singola esecuzione (gruppo corrente, posizione di
+ * generazione, ...): viene ricostruita da ogni esecuzione durante la
+ * validazione.
+ * </p>
+ * L'oggetto è immutabile; si crea con {@link #compile(File)} oppure con
+ * {@link XReport#compileTemplate()}.
+ */
+public final class ReportTemplate {
+  /** prefisso del path degli include di file (gli altri sono di costanti) */
+  private static final String               INCLUDE_FILE_PREFIX = "file:";
+
+  private final File                        c_source;
+  private final long                        c_sourceLastModified;
+  private final String                      c_encoding;
+  private final Integer                     c_schemaVersion;
+  private final boolean                     c_schemaDevelopment;
+  private final String                      c_schemaFile;
+  private final byte[]                      c_expandedSource;
+  private final List<XReport.IncludeInfo>   c_includes;
+  /** file inclusi nel sorgente */
+  private final File[]                      c_includeFiles;
+  /** data di modifica dei file inclusi al momento della creazione */
+  private final long[]                      c_includeLastModified;
+  private final long                        c_compileTime;
+
+  ReportTemplate(File source, String encoding, Integer schemaVersion, boolean schemaDevelopment, String schemaFile,
+      byte[] expandedSource, Collection<XReport.IncludeInfo> includes, long compileTime) {
+    c_source = source;
+    c_sourceLastModified = source.lastModified();
+    c_encoding = encoding;
+    c_schemaVersion = schemaVersion;
+    c_schemaDevelopment = schemaDevelopment;
+    c_schemaFile = schemaFile;
+    c_expandedSource = expandedSource;
+    c_includes = Collections.unmodifiableList(new ArrayList<XReport.IncludeInfo>(includes));
+    List<File> files = new ArrayList<File>();
+    for (XReport.IncludeInfo ii : c_includes) {
+      if (ii.getPathName().startsWith(INCLUDE_FILE_PREFIX)) {
+        files.add(new File(ii.getPathName().substring(INCLUDE_FILE_PREFIX.length())));
+      }
+    }
+    c_includeFiles = files.toArray(new File[files.size()]);
+    c_includeLastModified = new long[c_includeFiles.length];
+    for (int i = 0; i < c_includeFiles.length; i++) {
+      c_includeLastModified[i] = c_includeFiles[i].lastModified();
+    }
+    c_compileTime = compileTime;
+  }
+
+  /**
+   * Crea un template dal file sorgente passato, usando le impostazioni
+   * predefinite di {@link XReport} (encoding dedotto dal file, include cercati
+   * a partire dalla directory del sorgente).
+   * <p>
+   * NB: gli <tt>include</tt> che fanno riferimento a parametri (
+   * <tt>src="$nome"</tt>) richiedono che i parametri siano definiti: in tal caso
+   * usare {@link XReport#compileTemplate()} su un oggetto già configurato.
+   * </p>
+   *
+   * @param source
+   *          file sorgente del report
+   * @return template compilato
+   * @throws StampaException
+   *           nel caso il sorgente non esista o non sia corretto
+   */
+  public static ReportTemplate compile(File source) throws StampaException {
+    XReport report = new XReport();
+    report.setReportSource(source);
+    return report.compileTemplate();
+  }
+
+  /**
+   * @return file sorgente da cui è stato creato il template
+   */
+  public File getSource() {
+    return c_source;
+  }
+
+  /**
+   * @return encoding usato per leggere il sorgente
+   */
+  public String getEncoding() {
+    return c_encoding;
+  }
+
+  /**
+   * @return versione del XML Schema usato dal sorgente
+   */
+  public Integer getXMLSchemaVersion() {
+    return c_schemaVersion;
+  }
+
+  /**
+   * @return true sse il sorgente usa una versione "development" del XML Schema
+   */
+  public boolean isXMLSchemaDevelopment() {
+    return c_schemaDevelopment;
+  }
+
+  /**
+   * @return path, relativo al package di {@link XReport}, del file xsd di
+   *         validazione
+   */
+  public String getXMLSchemaFile() {
+    return c_schemaFile;
+  }
+
+  /**
+   * Ritorna uno stream nuovo, posizionato all'inizio, sul testo del sorgente con
+   * gli include già espansi. Ogni chiamata ritorna uno stream indipendente.
+   */
+  public InputStream openExpandedSource() {
+    return new ByteArrayInputStream(c_expandedSource);
+  }
+
+  /**
+   * @return dimensione in byte del sorgente espanso mantenuto in memoria
+   */
+  public int getExpandedSize() {
+    return c_expandedSource.length;
+  }
+
+  /**
+   * @return informazioni sui file e sulle costanti incluse nel sorgente
+   */
+  List<XReport.IncludeInfo> getIncludes() {
+    return c_includes;
+  }
+
+  /**
+   * @return tempo impiegato per compilare il template, in millisecondi
+   */
+  public long getCompileTime() {
+    return c_compileTime;
+  }
+
+  /**
+   * @return file inclusi nel sorgente con l'elemento <tt>include</tt>
+   */
+  public File[] getIncludeFiles() {
+    return c_includeFiles.clone();
+  }
+
+  /**
+   * Indica se il file sorgente o uno dei file inclusi è stato modificato dopo
+   * la creazione del template.
+   *
+   * @return true sse il template non corrisponde più ai file su disco
+   */
+  public boolean isStale() {
+    if (c_source.lastModified() != c_sourceLastModified) {
+      return true;
+    }
+    for (int i = 0; i < c_includeFiles.length; i++) {
+      if (c_includeFiles[i].lastModified() != c_includeLastModified[i]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return "ReportTemplate[" + c_source.getAbsolutePath() + "]";
+  }
+}
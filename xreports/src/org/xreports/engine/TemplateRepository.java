@@ -0,0 +1,386 @@
+package org.xreports.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Archivio di {@link ReportTemplate} già compilati, condivisibile da tutte le
+ * esecuzioni di {@link XReport} di un'applicazione. <br/>
+ * All'avvio ({@link #start()}) vengono cercati i sorgenti dei report
+ * (file <tt>.xml</tt>) nelle directory configurate e compilati in background;
+ * poi, ad intervalli regolari, le directory vengono riesaminate: i template il
+ * cui sorgente o uno dei file inclusi è stato modificato vengono ricompilati,
+ * quelli nuovi compilati e quelli cancellati tolti dall'archivio.
+ * <p>
+ * Un chiamante usa l'archivio così: <br/>
+ * <tt>report.setReportTemplate(repository.getTemplate(file));</tt><br/>
+ * {@link #getTemplate(File)} aspetta la compilazione in corso del template
+ * richiesto e compila subito i template non ancora presenti o non più
+ * aggiornati: ritorna quindi sempre un template corrispondente ai file su
+ * disco.
+ * </p>
+ * <p>
+ * La compilazione riguarda solo il sorgente e i suoi include. I font non
+ * vengono precaricati perché
+ * {@link org.xreports.engine.output.impl.itext.FontRegistry} li condivide
+ * già in tutta la JVM. Nemmeno le immagini vengono precaricate, e le loro
+ * modifiche non rendono il template da ricompilare: il path di un'immagine è
+ * un'espressione che viene valutata solo in generazione, spesso sui dati del
+ * gruppo corrente, e l'immagine iText che ne risulta viene scalata e
+ * posizionata sul singolo documento, quindi non si può condividere fra
+ * esecuzioni contemporanee. Ogni esecuzione legge quindi le sue immagini, una
+ * volta sola per documento (vedi <tt>DocumentoIText.getImageFromCache</tt>).
+ * </p>
+ * NB: i sorgenti con <tt>include</tt> di parametri non si possono compilare
+ * senza i parametri, per cui non vanno messi nelle directory dell'archivio (o
+ * vanno compilati con {@link XReport#compileTemplate()}).
+ */
+public class TemplateRepository {
+  /** intervallo predefinito di controllo delle modifiche, in millisecondi */
+  public static final long                                    DEFAULT_CHECK_INTERVAL = 5000;
+  /** estensione dei sorgenti dei report cercati nelle directory */
+  public static final String                                  SOURCE_EXTENSION       = ".xml";
+
+  private final List<File>                                    c_directories          = new ArrayList<File>();
+  private final ConcurrentMap<String, CompileFuture>          c_templates            = new ConcurrentHashMap<String, CompileFuture>();
+  private final long                                          c_checkInterval;
+  private ScheduledExecutorService                            c_executor;
+
+  private final AtomicInteger                                 c_compiled             = new AtomicInteger();
+  private final AtomicInteger                                 c_failed               = new AtomicInteger();
+  private final AtomicLong                                    c_compileTime          = new AtomicLong();
+
+  /**
+   * Crea un archivio che controlla le modifiche ogni
+   * {@link #DEFAULT_CHECK_INTERVAL} millisecondi.
+   */
+  public TemplateRepository() {
+    this(DEFAULT_CHECK_INTERVAL);
+  }
+
+  /**
+   * @param checkInterval
+   *          intervallo di controllo delle modifiche ai file, in millisecondi
+   */
+  public TemplateRepository(long checkInterval) {
+    if (checkInterval <= 0) {
+      throw new IllegalArgumentException("L'intervallo di controllo deve essere maggiore di 0");
+    }
+    c_checkInterval = checkInterval;
+  }
+
+  /**
+   * Aggiunge una directory in cui cercare (anche nelle sottodirectory) i
+   * sorgenti dei report. Va chiamato prima di {@link #start()}.
+   *
+   * @param dir
+   *          directory dei sorgenti
+   * @throws IOException
+   *           se la directory non esiste
+   */
+  public synchronized void addDirectory(File dir) throws IOException {
+    if ( !dir.isDirectory()) {
+      throw new IOException("La directory " + dir.getAbsolutePath() + " non esiste");
+    }
+    c_directories.add(dir.getCanonicalFile());
+  }
+
+  /**
+   * Avvia la compilazione in background di tutti i sorgenti presenti nelle
+   * directory e il controllo periodico delle modifiche.
+   *
+   * @param threads
+   *          quantità di thread usati per compilare
+   */
+  public synchronized void start(int threads) {
+    if (c_executor != null) {
+      throw new IllegalStateException("Archivio dei template già avviato");
+    }
+    c_executor = Executors.newScheduledThreadPool(Math.max(1, threads), new DaemonThreadFactory());
+    c_executor.scheduleWithFixedDelay(new RefreshTask(), 0, c_checkInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Come {@link #start(int)}, con un thread per ogni processore disponibile.
+   */
+  public void start() {
+    start(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Ferma la compilazione in background e il controllo delle modifiche. I
+   * template già compilati restano disponibili.
+   */
+  public synchronized void stop() {
+    if (c_executor != null) {
+      c_executor.shutdownNow();
+      c_executor = null;
+    }
+  }
+
+  /**
+   * Ritorna il template del sorgente passato, compilandolo se non è ancora in
+   * archivio o se i suoi file sono stati modificati dopo la compilazione. Se
+   * il template è in compilazione in background, ne aspetta la fine.
+   *
+   * @param source
+   *          file sorgente del report
+   * @return template aggiornato
+   * @throws StampaException
+   *           nel caso il sorgente non esista o non sia corretto
+   */
+  public ReportTemplate getTemplate(File source) throws StampaException {
+    String key = getKey(source);
+    CompileFuture future = c_templates.get(key);
+    if (future != null) {
+      try {
+        ReportTemplate template = waitTemplate(key, future);
+        if ( !template.isStale()) {
+          return template;
+        }
+      } catch (StampaException e) {
+        //compilazione precedente fallita (e tolta dall'archivio): riprovo, i file potrebbero essere stati corretti
+        future = null;
+      }
+    }
+    CompileFuture task = new CompileFuture(source);
+    if (future == null ? c_templates.putIfAbsent(key, task) == null : c_templates.replace(key, future, task)) {
+      task.run();
+      future = task;
+    } else {
+      //un altro thread ha appena messo in archivio il template: uso il suo
+      future = c_templates.get(key);
+      if (future == null) {
+        return ReportTemplate.compile(source);
+      }
+    }
+    return waitTemplate(key, future);
+  }
+
+  /**
+   * Aspetta la fine della compilazione; in caso di errore toglie il template
+   * dall'archivio.
+   *
+   * @return template compilato
+   * @throws StampaException
+   *           se la compilazione è fallita o l'attesa è stata interrotta
+   */
+  private ReportTemplate waitTemplate(String key, CompileFuture future) throws StampaException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      c_templates.remove(key, future);
+      if (e.getCause() instanceof StampaException) {
+        throw (StampaException) e.getCause();
+      }
+      throw new StampaException(e.getCause(), "Errore in compilazione del template " + key);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new StampaException("Interrotta l'attesa della compilazione del template " + key);
+    }
+  }
+
+  /**
+   * Riesamina le directory: compila in background i sorgenti nuovi o
+   * modificati e toglie dall'archivio quelli che non esistono più. Viene
+   * chiamato periodicamente dopo {@link #start()}, ma si può anche chiamare
+   * direttamente.
+   */
+  public void refresh() {
+    Set<String> found = new HashSet<String>();
+    List<File> dirs;
+    synchronized (this) {
+      dirs = new ArrayList<File>(c_directories);
+    }
+    for (File dir : dirs) {
+      scan(dir, found);
+    }
+    for (String key : c_templates.keySet()) {
+      if ( !found.contains(key) && !new File(key).isFile()) {
+        c_templates.remove(key);
+      }
+    }
+  }
+
+  private void scan(File dir, Set<String> found) {
+    File[] files = dir.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File f : files) {
+      if (f.isDirectory()) {
+        scan(f, found);
+      } else if (f.getName().toLowerCase().endsWith(SOURCE_EXTENSION)) {
+        String key = getKey(f);
+        found.add(key);
+        CompileFuture future = c_templates.get(key);
+        if (future == null || future.isStale()) {
+          submit(key, f, future);
+        }
+      }
+    }
+  }
+
+  private void submit(String key, File source, CompileFuture old) {
+    ScheduledExecutorService executor;
+    synchronized (this) {
+      executor = c_executor;
+    }
+    CompileFuture task = new CompileFuture(source);
+    boolean added = old == null ? c_templates.putIfAbsent(key, task) == null : c_templates.replace(key, old, task);
+    if (added) {
+      if (executor != null && !executor.isShutdown()) {
+        executor.execute(task);
+      } else {
+        task.run();
+      }
+    }
+  }
+
+  private static String getKey(File source) {
+    try {
+      return source.getCanonicalPath();
+    } catch (IOException e) {
+      return source.getAbsolutePath();
+    }
+  }
+
+  /**
+   * @return quantità di template presenti in archivio, compresi quelli in
+   *         compilazione
+   */
+  public int size() {
+    return c_templates.size();
+  }
+
+  /**
+   * @return memoria occupata dai sorgenti espansi dei template compilati, in
+   *         byte
+   */
+  public long getResidentSize() {
+    long size = 0;
+    for (CompileFuture future : c_templates.values()) {
+      if (future.isDone()) {
+        try {
+          size += future.get().getExpandedSize();
+        } catch (Exception e) {
+          //compilazione fallita: non occupa memoria
+        }
+      }
+    }
+    return size;
+  }
+
+  /**
+   * @return quantità di compilazioni completate con successo
+   */
+  public int getCompiledCount() {
+    return c_compiled.get();
+  }
+
+  /**
+   * @return quantità di compilazioni fallite
+   */
+  public int getFailedCount() {
+    return c_failed.get();
+  }
+
+  /**
+   * @return tempo totale impiegato nelle compilazioni, in millisecondi
+   */
+  public long getCompileTime() {
+    return c_compileTime.get();
+  }
+
+  @Override
+  public String toString() {
+    return "TemplateRepository[templates=" + size() + ", compiled=" + getCompiledCount() + ", failed="
+        + getFailedCount() + ", compileTime=" + getCompileTime() + "ms, residentSize=" + getResidentSize() + "]";
+  }
+
+  /**
+   * Compilazione, in corso o terminata, di un template.
+   */
+  private class CompileFuture extends FutureTask<ReportTemplate> {
+    private final File m_source;
+    /** data di modifica del sorgente all'inizio della compilazione */
+    private final long m_sourceLastModified;
+
+    CompileFuture(File source) {
+      super(new CompileTask(source));
+      m_source = source;
+      m_sourceLastModified = source.lastModified();
+    }
+
+    /**
+     * @return true se il template compilato non corrisponde più ai file o se
+     *         la compilazione è fallita e il sorgente è stato modificato da
+     *         allora; false se la compilazione è ancora in corso
+     */
+    boolean isStale() {
+      if ( !isDone()) {
+        return false;
+      }
+      try {
+        return get().isStale();
+      } catch (Exception e) {
+        return m_source.lastModified() != m_sourceLastModified;
+      }
+    }
+  }
+
+  private class CompileTask implements Callable<ReportTemplate> {
+    private final File m_source;
+
+    CompileTask(File source) {
+      m_source = source;
+    }
+
+    public ReportTemplate call() throws Exception {
+      try {
+        ReportTemplate template = ReportTemplate.compile(m_source);
+        c_compiled.incrementAndGet();
+        c_compileTime.addAndGet(template.getCompileTime());
+        return template;
+      } catch (Exception e) {
+        c_failed.incrementAndGet();
+        throw e;
+      }
+    }
+  }
+
+  private class RefreshTask implements Runnable {
+    public void run() {
+      try {
+        refresh();
+      } catch (RuntimeException e) {
+        //non deve interrompere i controlli successivi
+      }
+    }
+  }
+
+  private static class DaemonThreadFactory implements ThreadFactory {
+    private final AtomicInteger m_count = new AtomicInteger();
+
+    public Thread newThread(Runnable r) {
+      Thread t = new Thread(r, "xreports-templates-" + m_count.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    }
+  }
+}
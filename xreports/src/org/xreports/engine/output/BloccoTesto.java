@@ -1,5 +1,5 @@
-package org.xreports.engine.output;
-
-public interface BloccoTesto extends Elemento {
-
-}
+package org.xreports.engine.output;
+
+public interface BloccoTesto extends Elemento {
+
+}
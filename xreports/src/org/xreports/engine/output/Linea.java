@@ -1,12 +1,12 @@
-/**
- * 
- */
-package org.xreports.engine.output;
-
-/**
- * @author pier
- * 
- */
-public interface Linea extends Elemento {
-
-}
+/**
+ * 
+ */
+package org.xreports.engine.output;
+
+/**
+ * @author pier
+ * 
+ */
+public interface Linea extends Elemento {
+
+}
@@ -1,12 +1,12 @@
-/**
- * 
- */
-package org.xreports.engine.output;
-
-/**
- * @author pier
- * 
- */
-public interface Marginbox extends Elemento {
-
-}
+/**
+ * 
+ */
+package org.xreports.engine.output;
+
+/**
+ * @author pier
+ * 
+ */
+public interface Marginbox extends Elemento {
+
+}
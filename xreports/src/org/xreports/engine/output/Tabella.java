@@ -1,5 +1,5 @@
-package org.xreports.engine.output;
-
-public interface Tabella extends Elemento {
-
-}
+package org.xreports.engine.output;
+
+public interface Tabella extends Elemento {
+
+}
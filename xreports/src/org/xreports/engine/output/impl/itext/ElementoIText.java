@@ -1,184 +1,204 @@
-/**
- * 
- */
-package org.xreports.engine.output.impl.itext;
-
-import org.xreports.engine.XReport;
-import org.xreports.engine.output.Elemento;
-import org.xreports.engine.output.impl.GenerateException;
-import org.xreports.engine.source.AbstractElement.HAlign;
-import org.xreports.engine.source.AbstractElement.VAlign;
-
-import com.itextpdf.text.Element;
-import com.itextpdf.text.pdf.PdfWriter;
-
-/**
- * Implementazione di elemento per motore iText
- * 
- * @author pier
- * 
- */
-public abstract class ElementoIText implements Elemento {
-	private static int	elem_count	= 0;
-	private int					m_elemID		= 0;
-	private XReport			c_report;
-
-	/** parent element in the output hierarchy */
-	private Elemento		c_parent		= null;
-
-	public ElementoIText() {
-		synchronized (ElementoIText.class) {
-			elem_count++;
-			m_elemID = elem_count;
-		}
-	}
-
-	public ElementoIText(XReport report, Elemento parent) {
-		synchronized (ElementoIText.class) {
-			elem_count++;
-			m_elemID = elem_count;
-		}
-		setParent(parent);
-		setReport(report);
-	}
-	
-	/**
-	 * Ritorna id univoco di questo elemento. E' garantita univocit fra tutti gli
-	 * elementi di output di questo report.
-	 * 
-	 * @return id univoco
-	 */
-	public int getElementID() {
-		return m_elemID;
-	}
-
-	@Override
-	public Elemento getParent() {
-		return c_parent;
-	}
-
-	@Override
-	public void setParent(Elemento elem) {
-		c_parent = elem;
-	}
-
-	/**
-	 * Ritorna il primo elemento della classe passata antenato di questo elemento.
-	 * Ritorna null se non viene trovato.
-	 * 
-	 * @param cls
-	 *          classe dell'elemento cercato
-	 * @return elemento antenato di classe cls
-	 */
-	public ElementoIText closest(Class<? extends ElementoIText> cls) {
-		ElementoIText padre = (ElementoIText) getParent();
-		if (padre == null) {
-			return null;
-		}
-		// vediamo se fabri mette le parentesi graffe anche qui...
-		if (padre.getClass().equals(cls)) {
-			return padre;
-		}
-		return padre.closest(cls);
-	}
-
-	/**
-	 * Converte gli elementi dell'enumerato VAlign nelle corrispondenti costanti
-	 * di iText
-	 * 
-	 * @param align
-	 *          valore da convertire
-	 * @return costante iText corrispondente
-	 */
-	public int getVAlignForItext(VAlign align) {
-		int valign = Element.ALIGN_MIDDLE;
-		if (align == VAlign.BOTTOM) {
-			valign = Element.ALIGN_BOTTOM;
-		} else if (align == VAlign.MIDDLE) {
-			valign = Element.ALIGN_MIDDLE;
-		} else if (align == VAlign.TOP) {
-			valign = Element.ALIGN_TOP;
-		}
-		return valign;
-	}
-
-	/**
-	 * Converte gli elementi dell'enumerato HAlign nelle corrispondenti costanti
-	 * di iText
-	 * 
-	 * @param align
-	 *          valore da convertire
-	 * @return costante iText corrispondente
-	 */
-	public int getHAlignForItext(HAlign align) {
-		int halign = Element.ALIGN_MIDDLE;
-		if (align == HAlign.CENTER) {
-			halign = Element.ALIGN_CENTER;
-		} else if (align == HAlign.JUSTIFIED) {
-			halign = Element.ALIGN_JUSTIFIED;
-		} else if (align == HAlign.LEFT) {
-			halign = Element.ALIGN_LEFT;
-		} else if (align == HAlign.RIGHT) {
-			halign = Element.ALIGN_RIGHT;
-		}
-		return halign;
-	}
-
-	/**
-	 * Calcolo della larghezza massima dell'elemento (in punti). Ogni elemento
-	 * deve auto-calcolarsi la sua larghezza. Alcuni elementi non hanno una
-	 * larghezza ben definita, come ad esempio i blocchi di testo libero.
-	 */
-	public abstract float calcAvailWidth();
-
-	/**
-	 * Ritorna l'altezza dell'elemento (in punti). Ogni elemento deve
-	 * auto-calcolarsi la sua altezza. Alcuni elementi non hanno una altezza ben
-	 * definita, in tal caso ritornano 0. Altri elementi non riescono a calcolare
-	 * un'altezza precisa ma ritornano un'altezza minima
-	 */
-	public abstract float getHeight();
-
-	/*
-	 * (non-Javadoc)
-	 * 
-	 * @see ciscoop.stampa.output.Elemento#fineGenerazione()
-	 */
-	@Override
-	public void fineGenerazione() throws GenerateException {
-		// no-op: lascio l'implementazione opzionale alle classi specifiche
-	}
-
-	/**
-	 * Indica se questo elemento  un block level element.
-	 * <ul>
-	 * <li><b>block element</b>: questo elemento va scritto a capo: gli elementi
-	 * prima e dopo sono su righe diverse (esempi: <tt>text</tt>, <tt>table</tt>
-	 * ,...).
-	 * 
-	 * <li><b>inline element</b>: questo elemento  inline: gli elementi prima e
-	 * dopo sono contigui a questo (esempi: <tt>field</tt>, <tt>image</tt>, blocco
-	 * testo,...).
-	 * </ul>
-	 * 
-	 * @return true se questo elemento  un block level element
-	 */
-	public abstract boolean isBlock();
-
-	public XReport getReport() {
-		return c_report;
-	}
-
-	public void setReport(XReport report) {
-		c_report = report;
-	}
-
-	public DocumentoIText getDocumentImpl() throws GenerateException {
-    return (DocumentoIText) c_report.getDocumento();		
-	}
-
-	public PdfWriter getWriter() throws GenerateException {
-    return getDocumentImpl().getWriter();		
-	}
-	
-}
+/**
+ * 
+ */
+package org.xreports.engine.output.impl.itext;
+
+import org.xreports.engine.XReport;
+import org.xreports.engine.output.Elemento;
+import org.xreports.engine.output.impl.GenerateException;
+import org.xreports.engine.source.AbstractElement.HAlign;
+import org.xreports.engine.source.AbstractElement.VAlign;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.PdfTemplate;
+import com.itextpdf.text.pdf.PdfWriter;
+
+/**
+ * Implementazione di elemento per motore iText
+ * 
+ * @author pier
+ * 
+ */
+public abstract class ElementoIText implements Elemento {
+	private static int	elem_count	= 0;
+	private int					m_elemID		= 0;
+	private XReport			c_report;
+
+	/** parent element in the output hierarchy */
+	private Elemento		c_parent		= null;
+
+	public ElementoIText() {
+		synchronized (ElementoIText.class) {
+			elem_count++;
+			m_elemID = elem_count;
+		}
+	}
+
+	public ElementoIText(XReport report, Elemento parent) {
+		synchronized (ElementoIText.class) {
+			elem_count++;
+			m_elemID = elem_count;
+		}
+		setParent(parent);
+		setReport(report);
+	}
+	
+	/**
+	 * Ritorna id univoco di questo elemento. E' garantita univocità fra tutti gli
+	 * elementi di output di questo report.
+	 * 
+	 * @return id univoco
+	 */
+	public int getElementID() {
+		return m_elemID;
+	}
+
+	@Override
+	public Elemento getParent() {
+		return c_parent;
+	}
+
+	@Override
+	public void setParent(Elemento elem) {
+		c_parent = elem;
+	}
+
+	/**
+	 * Ritorna il primo elemento della classe passata antenato di questo elemento.
+	 * Ritorna null se non viene trovato.
+	 * 
+	 * @param cls
+	 *          classe dell'elemento cercato
+	 * @return elemento antenato di classe cls
+	 */
+	public ElementoIText closest(Class<? extends ElementoIText> cls) {
+		ElementoIText padre = (ElementoIText) getParent();
+		if (padre == null) {
+			return null;
+		}
+		// vediamo se fabri mette le parentesi graffe anche qui...
+		if (padre.getClass().equals(cls)) {
+			return padre;
+		}
+		return padre.closest(cls);
+	}
+
+	/**
+	 * Converte gli elementi dell'enumerato VAlign nelle corrispondenti costanti
+	 * di iText
+	 * 
+	 * @param align
+	 *          valore da convertire
+	 * @return costante iText corrispondente
+	 */
+	public int getVAlignForItext(VAlign align) {
+		int valign = Element.ALIGN_MIDDLE;
+		if (align == VAlign.BOTTOM) {
+			valign = Element.ALIGN_BOTTOM;
+		} else if (align == VAlign.MIDDLE) {
+			valign = Element.ALIGN_MIDDLE;
+		} else if (align == VAlign.TOP) {
+			valign = Element.ALIGN_TOP;
+		}
+		return valign;
+	}
+
+	/**
+	 * Converte gli elementi dell'enumerato HAlign nelle corrispondenti costanti
+	 * di iText
+	 * 
+	 * @param align
+	 *          valore da convertire
+	 * @return costante iText corrispondente
+	 */
+	public int getHAlignForItext(HAlign align) {
+		int halign = Element.ALIGN_MIDDLE;
+		if (align == HAlign.CENTER) {
+			halign = Element.ALIGN_CENTER;
+		} else if (align == HAlign.JUSTIFIED) {
+			halign = Element.ALIGN_JUSTIFIED;
+		} else if (align == HAlign.LEFT) {
+			halign = Element.ALIGN_LEFT;
+		} else if (align == HAlign.RIGHT) {
+			halign = Element.ALIGN_RIGHT;
+		}
+		return halign;
+	}
+
+	/**
+	 * Calcolo della larghezza massima dell'elemento (in punti). Ogni elemento
+	 * deve auto-calcolarsi la sua larghezza. Alcuni elementi non hanno una
+	 * larghezza ben definita, come ad esempio i blocchi di testo libero.
+	 */
+	public abstract float calcAvailWidth();
+
+	/**
+	 * Ritorna l'altezza dell'elemento (in punti). Ogni elemento deve
+	 * auto-calcolarsi la sua altezza. Alcuni elementi non hanno una altezza ben
+	 * definita, in tal caso ritornano 0. Altri elementi non riescono a calcolare
+	 * un'altezza precisa ma ritornano un'altezza minima
+	 */
+	public abstract float getHeight();
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see ciscoop.stampa.output.Elemento#fineGenerazione()
+	 */
+	@Override
+	public void fineGenerazione() throws GenerateException {
+		// no-op: lascio l'implementazione opzionale alle classi specifiche
+	}
+
+	/**
+	 * Indica se questo elemento è un block level element.
+	 * <ul>
+	 * <li><b>block element</b>: questo elemento va scritto a capo: gli elementi
+	 * prima e dopo sono su righe diverse (esempi: <tt>text</tt>, <tt>table</tt>
+	 * ,...).
+	 * 
+	 * <li><b>inline element</b>: questo elemento è inline: gli elementi prima e
+	 * dopo sono contigui a questo (esempi: <tt>field</tt>, <tt>image</tt>, blocco
+	 * testo,...).
+	 * </ul>
+	 * 
+	 * @return true se questo elemento è un block level element
+	 */
+	public abstract boolean isBlock();
+
+	public XReport getReport() {
+		return c_report;
+	}
+
+	public void setReport(XReport report) {
+		c_report = report;
+	}
+
+	public DocumentoIText getDocumentImpl() throws GenerateException {
+    return (DocumentoIText) c_report.getDocumento();		
+	}
+
+	public PdfWriter getWriter() throws GenerateException {
+    return getDocumentImpl().getWriter();		
+	}
+
+	/**
+	 * Ritorna una stringa che identifica dimensioni e margini della pagina
+	 * corrente del documento. Gli elementi che disegnano le decorazioni di
+	 * pagina in un {@link PdfTemplate} la usano per capire se il template è
+	 * ancora valido per la pagina corrente.
+	 * 
+	 * @param document
+	 *          documento iText
+	 * @return chiave del layout di pagina
+	 */
+	protected static String getPageLayoutKey(Document document) {
+		Rectangle size = document.getPageSize();
+		return size.getWidth() + "x" + size.getHeight() + "/" + document.leftMargin()
+				+ "," + document.rightMargin() + "," + document.topMargin() + ","
+				+ document.bottomMargin();
+	}
+	
+}
@@ -0,0 +1,113 @@
+package org.xreports.engine.output.impl.itext;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.pdf.BaseFont;
+
+/**
+ * Cache, condivisa da tutta la JVM, degli oggetti {@link BaseFont} usati dai
+ * documenti PDF. <br/>
+ * La creazione di una BaseFont da un file TTF/OTF richiede il parsing
+ * dell'intero file: con questa cache ogni file di font viene letto una volta
+ * sola e la stessa BaseFont (immutabile per quel che riguarda i documenti,
+ * ognuno dei quali mantiene per conto suo i caratteri usati) viene riusata da
+ * tutti i {@link DocumentoIText}, anche contemporanei su thread diversi.
+ * <p>
+ * Le font sono identificate dal path canonico del file (o dal nome, per le
+ * font standard PDF), dall'encoding e dalla modalità di embedding. Se il file
+ * di font viene modificato, alla richiesta successiva la font viene riletta.
+ * </p>
+ */
+public final class FontRegistry {
+  private static final ConcurrentMap<String, Entry> c_fonts  = new ConcurrentHashMap<String, Entry>();
+  private static final AtomicLong                   c_hits   = new AtomicLong();
+  private static final AtomicLong                   c_misses = new AtomicLong();
+
+  private FontRegistry() {
+  }
+
+  /**
+   * Ritorna la BaseFont richiesta, creandola solo se non è già in cache o se
+   * il file di font è stato modificato dopo la sua creazione.
+   *
+   * @param name
+   *          path del file di font oppure nome di una font standard PDF (ad
+   *          esempio {@link BaseFont#HELVETICA})
+   * @param encoding
+   *          encoding della font
+   * @param embedded
+   *          true se la font va incorporata nel documento
+   * @return BaseFont richiesta
+   * @throws DocumentException
+   *           se la font non è riconosciuta
+   * @throws IOException
+   *           in caso di errori in lettura del file di font
+   */
+  public static BaseFont getFont(String name, String encoding, boolean embedded) throws DocumentException,
+      IOException {
+    File file = new File(name);
+    String path = name;
+    long lastModified = 0;
+    if (file.isFile()) {
+      path = file.getCanonicalPath();
+      lastModified = file.lastModified();
+    }
+    String key = path + '\n' + encoding + '\n' + embedded;
+    Entry e = c_fonts.get(key);
+    if (e != null && e.m_lastModified == lastModified) {
+      c_hits.incrementAndGet();
+      return e.m_font;
+    }
+    c_misses.incrementAndGet();
+    //NB: la cache interna di iText non si accorge delle modifiche ai file: la gestisco io
+    BaseFont bf = BaseFont.createFont(path, encoding, embedded, false, null, null);
+    c_fonts.put(key, new Entry(bf, lastModified));
+    return bf;
+  }
+
+  /**
+   * @return quantità di richieste soddisfatte dalla cache
+   */
+  public static long getHits() {
+    return c_hits.get();
+  }
+
+  /**
+   * @return quantità di richieste che hanno creato una nuova BaseFont
+   */
+  public static long getMisses() {
+    return c_misses.get();
+  }
+
+  /**
+   * @return quantità di font presenti in cache
+   */
+  public static int size() {
+    return c_fonts.size();
+  }
+
+  /**
+   * Svuota la cache e azzera i contatori.
+   */
+  public static void clear() {
+    c_fonts.clear();
+    c_hits.set(0);
+    c_misses.set(0);
+  }
+
+  private static class Entry {
+    private final BaseFont m_font;
+    /** data di modifica del file di font alla creazione; 0 per le font standard */
+    private final long     m_lastModified;
+
+    Entry(BaseFont font, long lastModified) {
+      m_font = font;
+      m_lastModified = lastModified;
+    }
+  }
+}
@@ -1,136 +1,154 @@
-package org.xreports.engine.output.impl.itext;
-
-import java.util.List;
-
-import org.xreports.engine.XReport;
-import org.xreports.engine.output.Colore;
-import org.xreports.engine.output.Documento;
-import org.xreports.engine.output.Elemento;
-import org.xreports.engine.output.Marginbox;
-import org.xreports.engine.output.impl.GenerateException;
-import org.xreports.engine.source.MarginboxElement;
-
-import com.itextpdf.text.BaseColor;
-import com.itextpdf.text.Document;
-import com.itextpdf.text.pdf.PdfContentByte;
-import com.itextpdf.text.pdf.PdfWriter;
-
-public class MarginboxIText extends ElementoIText implements Marginbox {
-
-  public enum Style {
-    SOLID, DASH, DOT, DASHDOT
-  }
-
-  /** altezza della linea: comprende margini e spessore linea */
-  private float            c_height;
-
-  private MarginboxElement c_marginboxElem;
-
-  public MarginboxIText(XReport report, MarginboxElement lineElem, Elemento parent) throws GenerateException {
-    super(report, parent);
-    c_marginboxElem = lineElem;
-    DocumentoIText doc = (DocumentoIText) report.getDocumento();
-    doc.getPageListener().setMarginbox(this);
-  }
-
-  @Override
-  public float calcAvailWidth() {
-    return 0;
-  }
-
-  @Override
-  public float getHeight() {
-    return c_height;
-  }
-
-  /**
-   * Effettua fisicamente il disegno della linea secondo i parametri impostati
-   * 
-   * @throws GenerateException
-   */
-  public void draw(PdfWriter writer) throws GenerateException {
-    PdfContentByte cb = writer.getDirectContentUnder();
-
-    BaseColor baseColor;
-    Colore col = c_marginboxElem.getColore();
-    DocumentoIText doc = getDocumentImpl();
-    if (col == null) {
-      baseColor = BaseColor.BLACK;
-    } else {
-      baseColor = doc.getColorByName(col.getName());
-      if (baseColor == null) {
-        throw new GenerateException(c_marginboxElem, "Colore non definito: " + col.getName());
-      }
-    }
-
-    cb.saveState();
-    
-    LineaIText.applyLineStyle(cb, c_marginboxElem.getThickness().getValue(), 
-        LineaIText.Style.valueOf(c_marginboxElem.getStyle().toUpperCase()),
-        baseColor);
-    
-    Document docItext = doc.getDocument();    
-    float dist = c_marginboxElem.getDist().getValue();
-    c_height = docItext.getPageSize().getHeight() - docItext.topMargin() - docItext.bottomMargin() - dist*2;
-    float width = docItext.getPageSize().getWidth() - docItext.rightMargin() - docItext.leftMargin() - dist*2;
-
-    cb.rectangle(docItext.leftMargin() + dist, docItext.bottomMargin() + dist, 
-        width, c_height);    
-    cb.stroke();
-    
-    cb.restoreState();
-  }
-
-  @Override
-  public void addElement(Elemento figlio) throws GenerateException {
-    //E' un elemento finale non  possibile aggiungere altri elementi
-  }
-
-  /*
-   * (non-Javadoc)
-   * @see ciscoop.stampa.output.Elemento#aggiungiElementi(java.util.List)
-   */
-  @Override
-  public void addElements(List<Elemento> figli) throws GenerateException {
-    //E' un elemento finale non  possibile aggiungere altri elementi
-  }
-
-  @Override
-  public Object getContent(Elemento padre) throws GenerateException {
-    return null;
-  }
-
-  /*
-   * (non-Javadoc)
-   * @see ciscoop.stampa.output.Elemento#flush(ciscoop.stampa.output.Documento)
-   */
-  @Override
-  public void flush(Documento doc) throws GenerateException {
-  }
-
-  /*
-   * (non-Javadoc)
-   * @see ciscoop.stampa.output.Elemento#getUniqueID()
-   */
-  @Override
-  public String getUniqueID() {
-    return "Marginbox" + getElementID();
-  }
-
-  /*
-   * (non-Javadoc)
-   * @see ciscoop.stampa.impl.itext.ElementoIText#isBlock()
-   */
-  @Override
-  public boolean isBlock() {
-    return false;
-  }
-
-  /*
-   * (non-Javadoc)
-   * @see ciscoop.stampa.impl.itext.ElementoIText#fineGenerazione()
-   */
-  @Override
-  public void fineGenerazione() throws GenerateException {
-  }
-}
+package org.xreports.engine.output.impl.itext;
+
+import java.util.List;
+
+import org.xreports.engine.XReport;
+import org.xreports.engine.output.Colore;
+import org.xreports.engine.output.Documento;
+import org.xreports.engine.output.Elemento;
+import org.xreports.engine.output.Marginbox;
+import org.xreports.engine.output.impl.GenerateException;
+import org.xreports.engine.source.MarginboxElement;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.pdf.PdfTemplate;
+import com.itextpdf.text.pdf.PdfWriter;
+
+public class MarginboxIText extends ElementoIText implements Marginbox {
+
+  public enum Style {
+    SOLID, DASH, DOT, DASHDOT
+  }
+
+  /** altezza della linea: comprende margini e spessore linea */
+  private float            c_height;
+
+  private MarginboxElement c_marginboxElem;
+
+  /** rettangolo già disegnato, riusato su ogni pagina */
+  private PdfTemplate      c_template;
+  /** layout di pagina per cui è stato disegnato {@link #c_template} */
+  private String           c_templateLayout;
+
+  public MarginboxIText(XReport report, MarginboxElement lineElem, Elemento parent) throws GenerateException {
+    super(report, parent);
+    c_marginboxElem = lineElem;
+    DocumentoIText doc = (DocumentoIText) report.getDocumento();
+    doc.getPageListener().setMarginbox(this);
+  }
+
+  @Override
+  public float calcAvailWidth() {
+    return 0;
+  }
+
+  @Override
+  public float getHeight() {
+    return c_height;
+  }
+
+  /**
+   * Effettua fisicamente il disegno della linea secondo i parametri impostati.
+   * Il rettangolo viene disegnato una volta sola in un {@link PdfTemplate} che
+   * viene poi riusato su tutte le pagine con lo stesso layout.
+   * 
+   * @throws GenerateException
+   */
+  public void draw(PdfWriter writer) throws GenerateException {
+    Document docItext = getDocumentImpl().getDocument();
+    String layoutKey = getPageLayoutKey(docItext);
+    if (c_template == null || !layoutKey.equals(c_templateLayout)) {
+      c_template = createTemplate(writer, docItext);
+      c_templateLayout = layoutKey;
+    }
+    writer.getDirectContentUnder().addTemplate(c_template, 0, 0);
+  }
+
+  private PdfTemplate createTemplate(PdfWriter writer, Document docItext) throws GenerateException {
+    PdfTemplate cb = writer.getDirectContentUnder().createTemplate(docItext.getPageSize().getWidth(),
+        docItext.getPageSize().getHeight());
+
+    BaseColor baseColor;
+    Colore col = c_marginboxElem.getColore();
+    DocumentoIText doc = getDocumentImpl();
+    if (col == null) {
+      baseColor = BaseColor.BLACK;
+    } else {
+      baseColor = doc.getColorByName(col.getName());
+      if (baseColor == null) {
+        throw new GenerateException(c_marginboxElem, "Colore non definito: " + col.getName());
+      }
+    }
+
+    cb.saveState();
+    
+    LineaIText.applyLineStyle(cb, c_marginboxElem.getThickness().getValue(), 
+        LineaIText.Style.valueOf(c_marginboxElem.getStyle().toUpperCase()),
+        baseColor);
+    
+    float dist = c_marginboxElem.getDist().getValue();
+    c_height = docItext.getPageSize().getHeight() - docItext.topMargin() - docItext.bottomMargin() - dist*2;
+    float width = docItext.getPageSize().getWidth() - docItext.rightMargin() - docItext.leftMargin() - dist*2;
+
+    cb.rectangle(docItext.leftMargin() + dist, docItext.bottomMargin() + dist, 
+        width, c_height);    
+    cb.stroke();
+    
+    cb.restoreState();
+    return cb;
+  }
+
+  @Override
+  public void addElement(Elemento figlio) throws GenerateException {
+    //E' un elemento finale non è possibile aggiungere altri elementi
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see ciscoop.stampa.output.Elemento#aggiungiElementi(java.util.List)
+   */
+  @Override
+  public void addElements(List<Elemento> figli) throws GenerateException {
+    //E' un elemento finale non è possibile aggiungere altri elementi
+  }
+
+  @Override
+  public Object getContent(Elemento padre) throws GenerateException {
+    return null;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see ciscoop.stampa.output.Elemento#flush(ciscoop.stampa.output.Documento)
+   */
+  @Override
+  public void flush(Documento doc) throws GenerateException {
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see ciscoop.stampa.output.Elemento#getUniqueID()
+   */
+  @Override
+  public String getUniqueID() {
+    return "Marginbox" + getElementID();
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see ciscoop.stampa.impl.itext.ElementoIText#isBlock()
+   */
+  @Override
+  public boolean isBlock() {
+    return false;
+  }
+
+  /*
+   * (non-Javadoc)
+   * @see ciscoop.stampa.impl.itext.ElementoIText#fineGenerazione()
+   */
+  @Override
+  public void fineGenerazione() throws GenerateException {
+  }
+}
@@ -1,39 +1,39 @@
-/**
- * 
- */
-package org.xreports.engine.source;
-
-import org.xml.sax.Attributes;
-
-import org.xreports.engine.validation.ValidateException;
-import org.xreports.engine.validation.XMLSchemaValidationHandler;
-
-/**
- * @author pier
- * 
- */
-public class PageHeader extends PageElement {
-  public PageHeader(Attributes attrs, int lineNum, int colNum) throws ValidateException {
-    super(attrs, lineNum, colNum);
-  }
-
-  @Override
-  public String getTagName() {
-    return XMLSchemaValidationHandler.ELEMENTO_PAGEHEADER;
-  }
-
-  @Override
-  public boolean isHeader() {
-    return true;
-  }
-
-  @Override
-  public boolean isFooter() {
-    return false;
-  }
-
-  @Override
-  public boolean canChildren() {
-    return true;
-  }
-}
+/**
+ * 
+ */
+package org.xreports.engine.source;
+
+import org.xml.sax.Attributes;
+
+import org.xreports.engine.validation.ValidateException;
+import org.xreports.engine.validation.XMLSchemaValidationHandler;
+
+/**
+ * @author pier
+ * 
+ */
+public class PageHeader extends PageElement {
+  public PageHeader(Attributes attrs, int lineNum, int colNum) throws ValidateException {
+    super(attrs, lineNum, colNum);
+  }
+
+  @Override
+  public String getTagName() {
+    return XMLSchemaValidationHandler.ELEMENTO_PAGEHEADER;
+  }
+
+  @Override
+  public boolean isHeader() {
+    return true;
+  }
+
+  @Override
+  public boolean isFooter() {
+    return false;
+  }
+
+  @Override
+  public boolean canChildren() {
+    return true;
+  }
+}
@@ -0,0 +1,85 @@
+package org.xreports.engine.validation;
+
+import java.io.InputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.validation.Schema;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Insieme di {@link SAXParser} riutilizzabili, tutti con la stessa
+ * configurazione (namespace aware, con o senza validazione tramite uno
+ * {@link Schema} già compilato). <br/>
+ * Un SAXParser non può essere usato contemporaneamente da più thread: ogni
+ * parsing prende un parser libero (o ne crea uno nuovo se non ce ne sono) e lo
+ * restituisce al termine, dopo averlo riportato allo stato iniziale con
+ * {@link SAXParser#reset()}.
+ */
+final class ParserPool {
+  /** quantità massima di parser inutilizzati mantenuti */
+  static final int               MAX_IDLE    = 16;
+
+  private final SAXParserFactory m_factory;
+  private final Queue<SAXParser> m_idle      = new ConcurrentLinkedQueue<SAXParser>();
+  private final AtomicInteger    m_idleCount = new AtomicInteger();
+
+  /**
+   * @param schema
+   *          schema con cui validare i documenti; null per parser senza
+   *          validazione
+   */
+  ParserPool(Schema schema) {
+    m_factory = SAXParserFactory.newInstance();
+    m_factory.setNamespaceAware(true);
+    //NB: con uno Schema la validazione è fatta dallo schema: la validazione DTD deve restare spenta
+    m_factory.setValidating(false);
+    if (schema != null) {
+      m_factory.setSchema(schema);
+    }
+  }
+
+  /**
+   * Esegue il parsing dello stream passato con un parser del pool.
+   */
+  void parse(InputStream stream, DefaultHandler handler) throws Exception {
+    SAXParser parser = borrow();
+    try {
+      parser.parse(stream, handler);
+    } finally {
+      release(parser);
+    }
+  }
+
+  private SAXParser borrow() throws ParserConfigurationException, SAXException {
+    SAXParser parser = m_idle.poll();
+    if (parser != null) {
+      m_idleCount.decrementAndGet();
+      return parser;
+    }
+    //la factory non è garantita thread-safe
+    synchronized (m_factory) {
+      return m_factory.newSAXParser();
+    }
+  }
+
+  private void release(SAXParser parser) {
+    try {
+      parser.reset();
+    } catch (UnsupportedOperationException e) {
+      //parser non riutilizzabile: lo abbandono
+      return;
+    }
+    if (m_idleCount.incrementAndGet() <= MAX_IDLE) {
+      m_idle.offer(parser);
+    } else {
+      m_idleCount.decrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package org.xreports.engine.validation;
+
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.xml.XMLConstants;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import org.xml.sax.SAXException;
+
+/**
+ * Cache, condivisa da tutta la JVM, degli XML Schema usati per validare i
+ * sorgenti dei report. <br/>
+ * La compilazione del file xsd costa molto più della validazione di un
+ * sorgente: con questa cache ogni xsd viene compilato una volta sola e lo
+ * {@link Schema} risultante (immutabile e thread-safe) viene riusato da tutte
+ * le esecuzioni, anche contemporanee su thread diversi. Per ogni schema viene
+ * mantenuto anche un insieme di SAXParser già configurati per la validazione
+ * (vedi {@link XMLutil#validate(java.io.InputStream, URL, org.xml.sax.helpers.DefaultHandler)}).
+ * <p>
+ * Gli schema sono identificati dalla loro posizione, che contiene già versione
+ * e tipo (stable o development) dello schema, ad esempio
+ * <tt>validation/stable/version2/stampa.xsd</tt>.
+ * </p>
+ */
+public final class SchemaRegistry {
+  private static final ConcurrentMap<String, ParserPool> c_pools       = new ConcurrentHashMap<String, ParserPool>();
+  private static final ConcurrentMap<String, Schema>     c_schemas     = new ConcurrentHashMap<String, Schema>();
+  private static final AtomicLong                        c_hits        = new AtomicLong();
+  private static final AtomicLong                        c_misses      = new AtomicLong();
+  private static final AtomicLong                        c_compileTime = new AtomicLong();
+
+  private SchemaRegistry() {
+  }
+
+  /**
+   * Ritorna lo schema compilato dal file xsd passato, compilandolo solo se non
+   * è già in cache.
+   * 
+   * @param location
+   *          posizione del file xsd
+   * @return schema compilato
+   * @throws SAXException
+   *           in caso di errori nel file xsd
+   */
+  public static Schema getSchema(URL location) throws SAXException {
+    String key = location.toExternalForm();
+    Schema schema = c_schemas.get(key);
+    if (schema != null) {
+      c_hits.incrementAndGet();
+      return schema;
+    }
+    c_misses.incrementAndGet();
+    long start = System.currentTimeMillis();
+    //NB: la SchemaFactory non è thread-safe: ne creo una per ogni compilazione
+    SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+    schema = factory.newSchema(location);
+    c_compileTime.addAndGet(System.currentTimeMillis() - start);
+    Schema old = c_schemas.putIfAbsent(key, schema);
+    return old != null ? old : schema;
+  }
+
+  /**
+   * Ritorna l'insieme di parser che validano con lo schema passato.
+   */
+  static ParserPool getParserPool(URL location) throws SAXException {
+    String key = location.toExternalForm();
+    ParserPool pool = c_pools.get(key);
+    if (pool != null) {
+      c_hits.incrementAndGet();
+    } else {
+      pool = new ParserPool(getSchema(location));
+      ParserPool old = c_pools.putIfAbsent(key, pool);
+      if (old != null) {
+        pool = old;
+      }
+    }
+    return pool;
+  }
+
+  /**
+   * @return quantità di richieste soddisfatte dalla cache
+   */
+  public static long getHits() {
+    return c_hits.get();
+  }
+
+  /**
+   * @return quantità di richieste che hanno compilato uno schema
+   */
+  public static long getMisses() {
+    return c_misses.get();
+  }
+
+  /**
+   * @return tempo totale impiegato a compilare gli schema, in millisecondi
+   */
+  public static long getCompileTime() {
+    return c_compileTime.get();
+  }
+
+  /**
+   * @return quantità di schema presenti in cache
+   */
+  public static int size() {
+    return c_schemas.size();
+  }
+
+  /**
+   * Svuota la cache, compresi i parser associati agli schema, e azzera i
+   * contatori.
+   */
+  public static void clear() {
+    c_pools.clear();
+    c_schemas.clear();
+    c_hits.set(0);
+    c_misses.set(0);
+    c_compileTime.set(0);
+  }
+}
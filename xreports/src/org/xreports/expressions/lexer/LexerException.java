@@ -1,18 +1,18 @@
-package org.xreports.expressions.lexer;
-
-public class LexerException extends Exception {
-
-	/**
-	 * 
-	 */
-	private static final long	serialVersionUID	= 282890157896370180L;
-	
-	public LexerException(String message) {
-		super(message);
-	}
-	
-	public LexerException(String message, Throwable cause) {
-		super(message, cause);
-	}
-
-}
+package org.xreports.expressions.lexer;
+
+public class LexerException extends Exception {
+
+	/**
+	 * 
+	 */
+	private static final long	serialVersionUID	= 282890157896370180L;
+	
+	public LexerException(String message) {
+		super(message);
+	}
+	
+	public LexerException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+}
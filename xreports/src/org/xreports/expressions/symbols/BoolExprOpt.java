@@ -1,44 +1,44 @@
-/**
- * 
- */
-package org.xreports.expressions.symbols;
-
-import org.xreports.expressions.lexer.Token;
-import org.xreports.expressions.parsers.ParseException;
-
-/**
- * @author pier
- *
- */
-public class BoolExprOpt extends BoolExpression {
-
-  
-  public BoolExprOpt(Token t) throws ParseException {
-    super(t, null);
-  }
-  
-  /* (non-Javadoc)
-   * @see ciscoop.expressions.symbols.Symbol#evaluate(ciscoop.expressions.symbols.Evaluator)
-   */
-  @Override
-  public Object evaluate(Evaluator evaluator) throws EvaluateException {
-    return evaluateBoolPartialOp(evaluator);
-  }
-
-	/* (non-Javadoc)
-	 * @see ciscoop.expressions.symbols.Symbol#isTerminal()
-	 */
-	@Override
-	public boolean isTerminal() {
-		return false;
-	}
-  
-  /* (non-Javadoc)
-   * @see ciscoop.expressions.symbols.Symbol#isConcrete()
-   */
-  @Override
-  public boolean isConcrete() {
-    return false;
-  }
-	
-}
+/**
+ * 
+ */
+package org.xreports.expressions.symbols;
+
+import org.xreports.expressions.lexer.Token;
+import org.xreports.expressions.parsers.ParseException;
+
+/**
+ * @author pier
+ *
+ */
+public class BoolExprOpt extends BoolExpression {
+
+  
+  public BoolExprOpt(Token t) throws ParseException {
+    super(t, null);
+  }
+  
+  /* (non-Javadoc)
+   * @see ciscoop.expressions.symbols.Symbol#evaluate(ciscoop.expressions.symbols.Evaluator)
+   */
+  @Override
+  public Object evaluate(Evaluator evaluator) throws EvaluateException {
+    return evaluateBoolPartialOp(evaluator);
+  }
+
+	/* (non-Javadoc)
+	 * @see ciscoop.expressions.symbols.Symbol#isTerminal()
+	 */
+	@Override
+	public boolean isTerminal() {
+		return false;
+	}
+  
+  /* (non-Javadoc)
+   * @see ciscoop.expressions.symbols.Symbol#isConcrete()
+   */
+  @Override
+  public boolean isConcrete() {
+    return false;
+  }
+	
+}
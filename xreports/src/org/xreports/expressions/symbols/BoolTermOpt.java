@@ -1,43 +1,43 @@
-/**
- * 
- */
-package org.xreports.expressions.symbols;
-
-import org.xreports.expressions.lexer.Token;
-
-/**
- * @author pier
- *
- */
-public class BoolTermOpt extends BoolExpression {
-
-  public BoolTermOpt(Token t) {
-    //setText(t.getValue());
-    setPosition(t.getStartPosition());
-  }
-  
-  /* (non-Javadoc)
-   * @see ciscoop.expressions.symbols.Symbol#evaluate(ciscoop.expressions.symbols.Evaluator)
-   */
-  @Override
-  public Object evaluate(Evaluator evaluator) throws EvaluateException {
-    return evaluateBoolPartialOp(evaluator);
-  }
-
-	/* (non-Javadoc)
-	 * @see ciscoop.expressions.symbols.Symbol#isTerminal()
-	 */
-	@Override
-	public boolean isTerminal() {
-		return false;
-	}
-  
-  /* (non-Javadoc)
-   * @see ciscoop.expressions.symbols.Symbol#isConcrete()
-   */
-  @Override
-  public boolean isConcrete() {
-    return true;
-  }
-	
-}
+/**
+ * 
+ */
+package org.xreports.expressions.symbols;
+
+import org.xreports.expressions.lexer.Token;
+
+/**
+ * @author pier
+ *
+ */
+public class BoolTermOpt extends BoolExpression {
+
+  public BoolTermOpt(Token t) {
+    //setText(t.getValue());
+    setPosition(t.getStartPosition());
+  }
+  
+  /* (non-Javadoc)
+   * @see ciscoop.expressions.symbols.Symbol#evaluate(ciscoop.expressions.symbols.Evaluator)
+   */
+  @Override
+  public Object evaluate(Evaluator evaluator) throws EvaluateException {
+    return evaluateBoolPartialOp(evaluator);
+  }
+
+	/* (non-Javadoc)
+	 * @see ciscoop.expressions.symbols.Symbol#isTerminal()
+	 */
+	@Override
+	public boolean isTerminal() {
+		return false;
+	}
+  
+  /* (non-Javadoc)
+   * @see ciscoop.expressions.symbols.Symbol#isConcrete()
+   */
+  @Override
+  public boolean isConcrete() {
+    return true;
+  }
+	
+}
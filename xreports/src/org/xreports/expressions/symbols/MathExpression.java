@@ -1,5 +1,5 @@
-package org.xreports.expressions.symbols;
-
-public abstract class MathExpression  extends Symbol {
-
-}
+package org.xreports.expressions.symbols;
+
+public abstract class MathExpression  extends Symbol {
+
+}
@@ -0,0 +1,246 @@
+package org.xreports.datagroup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+import org.xreports.db.RowSchema;
+import org.xreports.db.SchemaRow;
+
+/**
+ * Confronta la memorizzazione per colonne ({@link ColumnStore}) con quella
+ * per righe caricando gli stessi dati in due modelli identici.
+ */
+public class ColumnStoreTest {
+  private static final String[] NAMES = { "id", "cust", "i", "l", "b", "d", "sd", "ts", "tsms", "bd", "dbl", "amount" };
+
+  /**
+   * Righe di prova: ogni colonna ha valori della stessa classe, con qualche
+   * null.
+   */
+  private static List<Object[]> rows() {
+    List<Object[]> rows = new ArrayList<Object[]>();
+    for (int r = 0; r < 60; r++) {
+      Timestamp ts = new Timestamp(1300000000000L + r * 1000L);
+      ts.setNanos(123456789 + r);
+      Object[] v = new Object[NAMES.length];
+      v[0] = Long.valueOf(r);
+      v[1] = "C" + (r % 4);
+      v[2] = Integer.valueOf(r * 3 - 50);
+      v[3] = Long.valueOf(r * 1000000007L);
+      v[4] = Boolean.valueOf(r % 3 == 0);
+      v[5] = new Date(1300000000000L + r * 86400000L);
+      v[6] = new java.sql.Date(1300000000000L + r * 86400000L);
+      v[7] = ts;
+      v[8] = new Timestamp(1300000000000L + r * 1500L);
+      v[9] = new BigDecimal(r + ".25");
+      v[10] = Double.valueOf(r * 0.5);
+      v[11] = Long.valueOf(r % 7 * 10);
+      if (r % 5 == 1) {
+        //null su tutte le colonne non chiave
+        for (int i = 2; i < v.length; i++) {
+          v[i] = null;
+        }
+      }
+      rows.add(v);
+    }
+    return rows;
+  }
+
+  private static RootModel load(boolean columnar, List<Object[]> rows) throws GroupException {
+    RootModel root = new RootModel();
+    GroupModel det = root.addChildModel("det");
+    det.addKeyField("id");
+    for (int i = 1; i < NAMES.length; i++) {
+      det.addField(NAMES[i]);
+    }
+    //campo dichiarato ma mai presente nei dati: resta empty
+    det.addField("note");
+    det.addAggregateField("amount", true);
+    det.setColumnar(columnar);
+    load(root, rows, NAMES);
+    return root;
+  }
+
+  private static void load(RootModel root, List<Object[]> rows, String[] names) throws GroupException {
+    SchemaRow row = new SchemaRow(new RowSchema(names));
+    for (Object[] v : rows) {
+      for (int i = 0; i < names.length; i++) {
+        row.setValue(i, v[i]);
+      }
+      root.assignData(row);
+    }
+  }
+
+  private static List<Group> instances(RootModel root) throws GroupException {
+    return root.getRootGroup().getChildList("det").getInstances();
+  }
+
+  private static void assertSameFields(Group expected, Group actual) {
+    for (String name : new String[] { "id", "cust", "i", "l", "b", "d", "sd", "ts", "tsms", "bd", "dbl", "amount", "note" }) {
+      DataField e = expected.getField(name);
+      DataField a = actual.getField(name);
+      assertNotNull(name, a);
+      String msg = name + " of " + expected.getField("id").getValue();
+      assertEquals(msg, e.getValue(), a.getValue());
+      if (e.getValue() != null) {
+        assertEquals(msg, e.getValue().getClass(), a.getValue().getClass());
+      }
+      assertEquals(msg, e.isEmpty(), a.isEmpty());
+      assertEquals(msg, e.isNull(), a.isNull());
+    }
+  }
+
+  @Test
+  public void testSameValuesAsRowStore() throws Exception {
+    List<Object[]> rows = rows();
+    RootModel byRow = load(false, rows);
+    RootModel byColumn = load(true, rows);
+    assertTrue(byColumn.getRootGroup().getChildList("det").getInstance(0).getModel().isColumnar());
+    List<Group> expected = instances(byRow);
+    List<Group> actual = instances(byColumn);
+    assertEquals(rows.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertSameFields(expected.get(i), actual.get(i));
+    }
+  }
+
+  @Test
+  public void testValueClassRoundTrip() throws Exception {
+    List<Object[]> rows = rows();
+    List<Group> actual = instances(load(true, rows));
+    for (int r = 0; r < rows.size(); r++) {
+      Object[] v = rows.get(r);
+      Group g = actual.get(r);
+      for (int i = 0; i < NAMES.length; i++) {
+        Object value = g.getField(NAMES[i]).getValue();
+        assertEquals(NAMES[i], v[i], value);
+        if (v[i] != null) {
+          assertEquals(NAMES[i], v[i].getClass(), value.getClass());
+        }
+      }
+      if (v[7] != null) {
+        assertEquals(((Timestamp) v[7]).getNanos(), ((Timestamp) g.getField("ts").getValue()).getNanos());
+      }
+    }
+  }
+
+  @Test
+  public void testEmptyAndNull() throws Exception {
+    List<Group> actual = instances(load(true, rows()));
+    Group withValues = actual.get(0);
+    Group withNulls = actual.get(1);
+    assertFalse(withValues.getField("i").isEmpty());
+    assertFalse(withValues.getField("i").isNull());
+    //valore null letto dai dati: non empty ma null
+    assertFalse(withNulls.getField("i").isEmpty());
+    assertTrue(withNulls.getField("i").isNull());
+    assertNull(withNulls.getField("i").getValue());
+    //campo mai valorizzato: empty
+    assertTrue(withValues.getField("note").isEmpty());
+    assertTrue(withValues.getField("note").isEmptyOrNull());
+
+    DataField f = withValues.getField("i");
+    f.setValue(null);
+    assertFalse(withValues.getField("i").isEmpty());
+    assertTrue(withValues.getField("i").isNull());
+    f.resetValue();
+    assertTrue(withValues.getField("i").isEmpty());
+  }
+
+  @Test
+  public void testOrdinalReuseAfterDestroy() throws Exception {
+    List<Object[]> rows = rows();
+    RootModel root = load(true, rows);
+    ColumnStore store = root.getRootGroup().getChildList("det").getInstance(0).getModel().getColumnStore();
+    assertEquals(rows.size(), store.size());
+
+    root.getRootGroup().getChildList("det").releaseSubreport();
+    assertEquals(0, store.size());
+    assertEquals(0, root.getRootGroup().getDescendantGroupCount("det"));
+
+    //ricarico solo chiave e cliente: gli ordinali riusati non devono
+    //mantenere i valori delle istanze distrutte
+    load(root, rows, new String[] { "id", "cust" });
+    assertEquals(rows.size(), store.size());
+    for (Group g : instances(root)) {
+      assertFalse(g.getField("cust").isEmpty());
+      assertTrue(g.getField("i").isEmpty());
+      assertTrue(g.getField("ts").isEmpty());
+      assertTrue(g.getField("amount").isEmpty());
+    }
+  }
+
+  @Test
+  public void testSerialization() throws Exception {
+    List<Object[]> rows = rows();
+    RootModel byRow = load(false, rows);
+    RootModel byColumn = load(true, rows);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    out.writeObject(byColumn.getRootGroup());
+    out.close();
+    ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    Group back = (Group) in.readObject();
+    in.close();
+
+    List<Group> expected = instances(byRow);
+    List<Group> actual = back.getChildList("det").getInstances();
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      Group g = actual.get(i);
+      for (DataField f : expected.get(i).getMyFields()) {
+        DataField a = g.getField(f.getNome());
+        if (f.isEmpty()) {
+          assertTrue(f.getNome(), a == null || a.isEmpty());
+          continue;
+        }
+        assertNotNull(f.getNome(), a);
+        assertEquals(f.getNome(), f.getValue(), a.getValue());
+        assertEquals(f.getNome(), f.isNull(), a.isNull());
+      }
+    }
+    //la serializzazione non lascia copie dei campi nell'istanza originale
+    assertSameFields(expected.get(0), instances(byColumn).get(0));
+  }
+
+  @Test
+  public void testAggregateIndexThroughCopyValues() throws Exception {
+    List<Object[]> rows = rows();
+    Group byRow = load(false, rows).getRootGroup();
+    RootModel columnRoot = load(true, rows);
+    Group byColumn = columnRoot.getRootGroup();
+    long sum = 0;
+    for (Object[] v : rows) {
+      if (v[11] != null) {
+        sum += ((Long) v[11]).longValue();
+      }
+    }
+    assertEquals(sum, byColumn.sommaDiscen("det", "amount").longValue());
+    assertEquals(byRow.sommaDiscen("det", "amount"), byColumn.sommaDiscen("det", "amount"));
+    assertEquals(byRow.getIndexedCountDistinct("det", "amount"), byColumn.getIndexedCountDistinct("det", "amount"));
+    assertEquals(Integer.valueOf(7), byColumn.getIndexedCountDistinct("det", "amount"));
+    assertTrue(byColumn.hasIndexedMinMax("det", "amount"));
+    assertEquals(byRow.getIndexedMinMax("det", "amount", false), byColumn.getIndexedMinMax("det", "amount", false));
+    assertEquals(Long.valueOf(60), byColumn.getIndexedMinMax("det", "amount", true));
+    assertEquals(rows.size(), byColumn.getDescendantGroupCount("det"));
+
+    //la modifica di un valore dopo il caricamento aggiorna l'indice
+    Group first = instances(columnRoot).get(0);
+    first.getField("amount").setValue(Long.valueOf(1000));
+    assertEquals(sum + 1000, byColumn.sommaDiscen("det", "amount").longValue());
+  }
+}
@@ -0,0 +1,166 @@
+package org.xreports.datagroup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.xreports.db.RowSchema;
+import org.xreports.db.SchemaRow;
+
+/**
+ * Verifica che l'ordinamento dei gruppi su un campo stringa dia lo stesso
+ * risultato con e senza la codifica a dizionario dei valori.
+ */
+public class GroupComparatorTest {
+  private static final String LETTERS = "aAbBcCzZ9_";
+
+  private static List<String> values(int count, int maxLength, long seed) {
+    Random rnd = new Random(seed);
+    List<String> values = new ArrayList<String>();
+    for (int i = 0; i < count; i++) {
+      StringBuilder sb = new StringBuilder();
+      int len = 1 + rnd.nextInt(maxLength);
+      for (int j = 0; j < len; j++) {
+        sb.append(LETTERS.charAt(rnd.nextInt(LETTERS.length())));
+      }
+      values.add(sb.toString());
+    }
+    return values;
+  }
+
+  private static List<Group> load(List<String> values, boolean dictionary) throws GroupException {
+    RootModel root = new RootModel();
+    GroupModel det = root.addChildModel("det");
+    det.addKeyField("id");
+    det.addField("name");
+    det.setDictionaryEncoding(dictionary);
+    SchemaRow row = new SchemaRow(new RowSchema(new String[] { "id", "name" }));
+    for (int i = 0; i < values.size(); i++) {
+      row.setValue(0, Long.valueOf(i));
+      row.setValue(1, values.get(i));
+      root.assignData(row);
+    }
+    return root.getRootGroup().getChildList("det").getInstances();
+  }
+
+  /**
+   * Valori del campo nell'ordine della lista, in minuscolo se il confronto
+   * non distingue maiuscole e minuscole (l'ordine fra valori uguali non è
+   * significativo).
+   */
+  private static List<String> names(List<Group> groups, boolean caseSensitive) {
+    List<String> names = new ArrayList<String>();
+    for (Group g : groups) {
+      String s = (String) g.getField("name").getValue();
+      names.add(caseSensitive ? s : s.toLowerCase());
+    }
+    return names;
+  }
+
+  private static List<String> expected(List<String> values, boolean caseSensitive, boolean ascending) {
+    List<String> expected = new ArrayList<String>();
+    for (String s : values) {
+      expected.add(caseSensitive ? s : s.toLowerCase());
+    }
+    Collections.sort(expected);
+    if ( !ascending) {
+      Collections.reverse(expected);
+    }
+    return expected;
+  }
+
+  private static Set<String> byName() {
+    Set<String> order = new LinkedHashSet<String>();
+    order.add("name");
+    return order;
+  }
+
+  private static void checkOrder(List<Group> groups, List<String> values) throws GroupException {
+    for (boolean caseSensitive : new boolean[] { true, false }) {
+      for (boolean ascending : new boolean[] { true, false }) {
+        String msg = (caseSensitive ? "cs" : "ci") + (ascending ? "+" : "-");
+        List<String> expected = expected(values, caseSensitive, ascending);
+        GroupComparator comparator = new GroupComparator(byName(), caseSensitive, ascending);
+
+        //confronto fra coppie di gruppi
+        List<Group> list = new ArrayList<Group>(groups);
+        Collections.sort(list, comparator);
+        assertEquals(msg, expected, names(list, caseSensitive));
+
+        //ordinamento sulle chiavi precalcolate
+        list = new ArrayList<Group>(groups);
+        comparator.sort(list);
+        assertEquals(msg, expected, names(list, caseSensitive));
+
+        //selezione dei primi e degli ultimi N
+        int n = Math.min(25, groups.size());
+        assertEquals(msg, expected.subList(0, n), names(comparator.select(groups, n, false), caseSensitive));
+        assertEquals(msg, expected.subList(expected.size() - n, expected.size()),
+            names(comparator.select(groups, n, true), caseSensitive));
+      }
+    }
+  }
+
+  @Test
+  public void testWithDictionary() throws Exception {
+    List<String> values = values(2000, 2, 3);
+    List<Group> groups = load(values, true);
+    assertTrue(groups.get(0).getField("name").getModel().getDictionary().size() > 0);
+    checkOrder(groups, values);
+  }
+
+  @Test
+  public void testWithoutDictionary() throws Exception {
+    List<String> values = values(2000, 2, 3);
+    List<Group> groups = load(values, false);
+    assertNull(groups.get(0).getField("name").getModel().getDictionary());
+    checkOrder(groups, values);
+  }
+
+  @Test
+  public void testSameOrderWithAndWithoutDictionary() throws Exception {
+    List<String> values = values(500, 2, 5);
+    List<Group> encoded = load(values, true);
+    List<Group> plain = load(values, false);
+    for (boolean caseSensitive : new boolean[] { true, false }) {
+      GroupComparator comparator = new GroupComparator(byName(), caseSensitive, true);
+      for (int i = 0; i < values.size(); i += 7) {
+        for (int j = 0; j < values.size(); j += 11) {
+          assertEquals(values.get(i) + " " + values.get(j),
+              Integer.signum(comparator.compare(plain.get(i), plain.get(j))),
+              Integer.signum(comparator.compare(encoded.get(i), encoded.get(j))));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testPartiallyEncodedValues() throws Exception {
+    //campionamento con pochi valori, poi abbastanza valori nuovi da
+    //disattivare il dizionario: alcuni valori hanno il codice, altri no
+    List<String> values = values(StringDictionary.SAMPLE_SIZE, 2, 7);
+    for (int i = 0; i < StringDictionary.MAX_SIZE + 2000; i++) {
+      values.add((i % 2 == 0 ? "k" : "K") + Integer.toString(i, 36));
+    }
+    List<Group> groups = load(values, true);
+    StringDictionary dict = groups.get(0).getField("name").getModel().getDictionary();
+    assertEquals(StringDictionary.MAX_SIZE, dict.size());
+    assertEquals(-1, dict.code(values.get(values.size() - 1)));
+    checkOrder(groups, values);
+
+    Comparator<Group> comparator = new GroupComparator(byName(), false, true);
+    Group coded = groups.get(0);
+    Group notCoded = groups.get(groups.size() - 1);
+    assertEquals(Integer.signum(values.get(0).toLowerCase().compareTo(values.get(values.size() - 1).toLowerCase())),
+        Integer.signum(comparator.compare(coded, notCoded)));
+  }
+}
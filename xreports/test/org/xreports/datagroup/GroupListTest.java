@@ -0,0 +1,230 @@
+package org.xreports.datagroup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.xreports.db.RowSchema;
+import org.xreports.db.SchemaRow;
+
+/**
+ * Verifica l'ordinamento delle istanze di una {@link GroupList} e la
+ * selezione delle prime o delle ultime N.
+ */
+public class GroupListTest {
+  private RootModel m_root;
+  private SchemaRow m_row;
+
+  @Before
+  public void setUp() throws Exception {
+    m_root = new RootModel();
+    GroupModel det = m_root.addChildModel("det");
+    det.addKeyField("id");
+    det.addField("cat");
+    det.addField("amount");
+    det.addAggregateField("amount", true);
+    m_row = new SchemaRow(new RowSchema(new String[] { "id", "cat", "amount" }));
+    for (int i = 0; i < 40; i++) {
+      add(i, "C" + (i * 7 % 5), (i * 13) % 40);
+    }
+  }
+
+  private void add(long id, String cat, long amount) throws GroupException {
+    m_row.setValue(0, Long.valueOf(id));
+    m_row.setValue(1, cat);
+    m_row.setValue(2, Long.valueOf(amount));
+    m_root.assignData(m_row);
+  }
+
+  private GroupList list() throws GroupException {
+    return m_root.getRootGroup().getChildList("det");
+  }
+
+  private static GroupComparator by(String field, boolean ascending) throws GroupException {
+    Set<String> order = new LinkedHashSet<String>();
+    order.add(field);
+    return new GroupComparator(order, true, ascending);
+  }
+
+  /** Ordinamento stabile della lista passata, con il comparatore passato. */
+  private static List<Group> sorted(List<Group> groups, GroupComparator comparator) {
+    List<Group> copy = new ArrayList<Group>(groups);
+    Collections.sort(copy, comparator);
+    return copy;
+  }
+
+  private static List<Object> ids(List<Group> groups) {
+    List<Object> ids = new ArrayList<Object>();
+    for (Group g : groups) {
+      ids.add(g.getField("id").getValue());
+    }
+    return ids;
+  }
+
+  @Test
+  public void testSortIsStableOnCurrentOrder() throws Exception {
+    GroupList list = list();
+    list.sort(by("cat", true));
+    list.sort(by("amount", false));
+    //le istanze con la stessa categoria restano nell'ordine per importo
+    List<Group> expected = sorted(list.getInstances(), by("cat", true));
+    list.sort(by("cat", true));
+    assertEquals(ids(expected), ids(list.getInstances()));
+  }
+
+  @Test
+  public void testSortAfterValueChange() throws Exception {
+    GroupList list = list();
+    list.sort(by("amount", true));
+    Group first = list.getInstance(0);
+    first.getField("amount").setValue(Long.valueOf(1000));
+    list.sort(by("amount", true));
+    assertEquals(first, list.getInstance(list.getCount() - 1));
+    assertEquals(ids(sorted(list.getInstances(), by("amount", true))), ids(list.getInstances()));
+
+    first.getField("amount").resetValue();
+    list.sort(by("amount", true));
+    assertEquals(ids(sorted(list.getInstances(), by("amount", true))), ids(list.getInstances()));
+  }
+
+  @Test
+  public void testSortAfterNewInstance() throws Exception {
+    GroupList list = list();
+    list.sort(by("amount", true));
+    add(100, "C9", -5);
+    list.sort(by("amount", true));
+    assertEquals(ids(sorted(list.getInstances(), by("amount", true))), ids(list.getInstances()));
+    //l'importo zero vale come valore mancante e resta in testa
+    assertEquals(Long.valueOf(100), list.getInstance(1).getField("id").getValue());
+  }
+
+  private static List<Object> amounts(List<Group> groups) {
+    List<Object> amounts = new ArrayList<Object>();
+    for (Group g : groups) {
+      amounts.add(g.getField("amount").getValue());
+    }
+    return amounts;
+  }
+
+  private static List<Object> longs(long... values) {
+    List<Object> list = new ArrayList<Object>();
+    for (long v : values) {
+      list.add(Long.valueOf(v));
+    }
+    return list;
+  }
+
+  @Test
+  public void testTopN() throws Exception {
+    GroupList list = list();
+    List<Group> top = list.getLimitedInstances(by("amount", false), 5, false, null);
+    assertEquals(longs(39, 38, 37, 36, 35), amounts(top));
+    //le istanze escluse restano nella lista, dopo quelle selezionate
+    assertEquals(40, list.getCount());
+    assertEquals(top, list.getInstances().subList(0, 5));
+  }
+
+  @Test
+  public void testBottomN() throws Exception {
+    GroupList list = list();
+    List<Group> expected = sorted(list.getInstances(), by("cat", true));
+    List<Group> bottom = list.getLimitedInstances(by("cat", true), 4, true, null);
+    assertEquals(ids(expected.subList(36, 40)), ids(bottom));
+    assertEquals(40, list.getCount());
+  }
+
+  @Test
+  public void testOthers() throws Exception {
+    GroupList list = list();
+    List<Group> top = list.getLimitedInstances(by("amount", false), 5, false, "Altri");
+    assertEquals(6, top.size());
+    Group others = top.get(5);
+    assertTrue(others.isOthers());
+    assertFalse(top.get(0).isOthers());
+    //somma degli importi da 0 a 34
+    assertEquals(Long.valueOf(595), others.getField("amount").getValue());
+    assertEquals("Altri", others.getField("cat").getValue());
+    //l'istanza riassuntiva non fa parte della lista né dei totali
+    assertEquals(40, list.getCount());
+    assertEquals(40, m_root.getRootGroup().getDescendantGroupCount("det"));
+    assertEquals(780, m_root.getRootGroup().sommaDiscen("det", "amount").longValue());
+  }
+
+  @Test
+  public void testTotalsAfterLimit() throws Exception {
+    Group root = m_root.getRootGroup();
+    list().getLimitedInstances(by("amount", false), 3, false, "Altri");
+    //dall'indice dei valori aggregati
+    assertEquals(780, root.sommaDiscen("det", "amount").longValue());
+    //navigando l'albero dei gruppi
+    assertEquals(780, root.calcFieldsSum(root.getDescendantFields("det", "amount")).longValue());
+    assertEquals(40, root.getDescendantFields("det", "amount").size());
+    assertEquals(Long.valueOf(39), root.getIndexedMinMax("det", "amount", true));
+  }
+
+  @Test
+  public void testSecondLimitSeesAllInstances() throws Exception {
+    GroupList list = list();
+    list.getLimitedInstances(by("amount", false), 5, false, null);
+    //la seconda selezione parte da tutte le istanze, anche quelle escluse
+    //dalla prima
+    List<Group> expected = sorted(list.getInstances(), by("amount", true));
+    List<Group> bottom = list.getLimitedInstances(by("amount", true), 5, false, null);
+    assertEquals(ids(expected.subList(0, 5)), ids(bottom));
+    assertEquals(longs(0, 1, 2, 3, 4), amounts(bottom));
+
+    List<Group> top = list.getLimitedInstances(by("amount", false), 5, false, null);
+    assertEquals(longs(39, 38, 37, 36, 35), amounts(top));
+  }
+
+  @Test
+  public void testLimitAfterValueChange() throws Exception {
+    GroupList list = list();
+    List<Group> top = list.getLimitedInstances(by("amount", false), 5, false, null);
+    assertEquals(top, list.getLimitedInstances(by("amount", false), 5, false, null));
+    Group excluded = list.getInstance(20);
+    excluded.getField("amount").setValue(Long.valueOf(1000));
+    top = list.getLimitedInstances(by("amount", false), 5, false, null);
+    assertEquals(excluded, top.get(0));
+    assertEquals(longs(1000, 39, 38, 37, 36), amounts(top));
+  }
+
+  @Test
+  public void testOthersReleasedOnColumnarModel() throws Exception {
+    m_root = new RootModel();
+    GroupModel det = m_root.addChildModel("det");
+    det.addKeyField("id");
+    det.addField("cat");
+    det.addField("amount");
+    det.setColumnar(true);
+    for (int i = 0; i < 40; i++) {
+      add(i, "C" + (i * 7 % 5), (i * 13) % 40);
+    }
+    GroupList list = list();
+    ColumnStore store = det.getColumnStore();
+    list.getLimitedInstances(by("amount", false), 5, false, "Altri");
+    int live = store.size();
+    assertEquals(41, live);
+    for (int i = 0; i < 20; i++) {
+      //limite ed etichetta diversi, dopo una modifica dei valori
+      list.getInstance(i).getField("amount").setValue(Long.valueOf(i * 3));
+      List<Group> top = list.getLimitedInstances(by("amount", i % 2 == 0), 3 + i % 4, false, "Altri " + i);
+      assertEquals("Altri " + i, top.get(top.size() - 1).getField("cat").getValue());
+      assertEquals(live, store.size());
+    }
+    //senza istanza riassuntiva quella precedente viene comunque distrutta
+    list.getLimitedInstances(by("amount", false), 5, false, null);
+    assertEquals(40, store.size());
+    list.getLimitedInstances(by("amount", false), 5, false, "Altri");
+    list.releaseSubreport();
+    assertEquals(0, store.size());
+  }
+}
@@ -0,0 +1,192 @@
+package org.xreports.datagroup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.xreports.db.RowSchema;
+import org.xreports.db.SchemaRow;
+
+/**
+ * Verifica la scelta automatica della codifica a dizionario, l'ordinamento
+ * dei codici e il conteggio dei valori distinti per codice.
+ */
+public class StringDictionaryTest {
+
+  /** Nuova istanza della stringa, per verificare la condivisione. */
+  private static String copy(String s) {
+    return new String(s);
+  }
+
+  /**
+   * Porta il dizionario nello stato attivo: {@link StringDictionary#SAMPLE_SIZE}
+   * valori presi da {@link StringDictionary#MAX_SAMPLE_DISTINCT} distinti.
+   */
+  private static StringDictionary active() {
+    StringDictionary dict = new StringDictionary();
+    for (int i = 0; i < StringDictionary.SAMPLE_SIZE; i++) {
+      dict.intern(copy("V" + i % StringDictionary.MAX_SAMPLE_DISTINCT));
+    }
+    return dict;
+  }
+
+  @Test
+  public void testSharesInstances() {
+    StringDictionary dict = new StringDictionary();
+    String first = dict.intern(copy("abc"));
+    String second = copy("abc");
+    assertNotSame(first, second);
+    assertSame(first, dict.intern(second));
+    assertEquals(0, dict.code("abc"));
+    assertEquals(-1, dict.code("xyz"));
+  }
+
+  @Test
+  public void testSamplingKeepsFewDistinct() {
+    StringDictionary dict = active();
+    assertEquals(StringDictionary.MAX_SAMPLE_DISTINCT, dict.size());
+    //finito il campionamento, nuovi valori distinti sono accettati
+    String extra = dict.intern(copy("extra"));
+    assertEquals(StringDictionary.MAX_SAMPLE_DISTINCT + 1, dict.size());
+    assertSame(extra, dict.intern(copy("extra")));
+  }
+
+  @Test
+  public void testSamplingCutOff() {
+    StringDictionary dict = new StringDictionary();
+    for (int i = 0; i < StringDictionary.MAX_SAMPLE_DISTINCT; i++) {
+      dict.intern("V" + i);
+    }
+    assertEquals(StringDictionary.MAX_SAMPLE_DISTINCT, dict.size());
+    //un valore distinto in più durante il campionamento disattiva il dizionario
+    dict.intern("V" + StringDictionary.MAX_SAMPLE_DISTINCT);
+    assertEquals(0, dict.size());
+    assertEquals(-1, dict.code("V0"));
+    String value = copy("V0");
+    assertSame(value, dict.intern(value));
+    assertEquals(0, dict.size());
+  }
+
+  @Test
+  public void testOffAtMaxSize() {
+    StringDictionary dict = active();
+    int i = 0;
+    while (dict.size() < StringDictionary.MAX_SIZE) {
+      dict.intern("U" + i++);
+    }
+    int oldCode = dict.code("V7");
+    int lastCode = dict.code("U" + (i - 1));
+    assertEquals(StringDictionary.MAX_SIZE - 1, lastCode);
+
+    //il primo valore oltre la dimensione massima disattiva il dizionario
+    String over = copy("over");
+    assertSame(over, dict.intern(over));
+    assertEquals(-1, dict.code("over"));
+    assertEquals(StringDictionary.MAX_SIZE, dict.size());
+    String again = copy("V7");
+    assertSame(again, dict.intern(again));
+
+    //i codici già assegnati restano validi, anche per l'ordinamento
+    assertEquals(oldCode, dict.code("V7"));
+    assertEquals(lastCode, dict.code("U" + (i - 1)));
+    assertTrue(dict.rank("U1", true) < dict.rank("V7", true));
+    assertEquals(-1, dict.rank("over", true));
+  }
+
+  @Test
+  public void testRankOrdering() {
+    StringDictionary dict = new StringDictionary();
+    Random rnd = new Random(11);
+    List<String> values = new ArrayList<String>();
+    String letters = "aAbBzZ_ 9";
+    for (int i = 0; i < 300; i++) {
+      StringBuilder sb = new StringBuilder();
+      int len = 1 + rnd.nextInt(4);
+      for (int j = 0; j < len; j++) {
+        sb.append(letters.charAt(rnd.nextInt(letters.length())));
+      }
+      values.add(dict.intern(sb.toString()));
+      if (i == 150) {
+        //le posizioni calcolate vanno ricalcolate quando arrivano nuovi valori
+        dict.rank(values.get(0), true);
+        dict.rank(values.get(0), false);
+      }
+    }
+    for (String a : values) {
+      for (String b : values) {
+        assertEquals(a + " " + b, Integer.signum(a.compareTo(b)),
+            Integer.signum(dict.rank(a, true) - dict.rank(b, true)));
+        assertEquals(a + " " + b, Integer.signum(a.toLowerCase().compareTo(b.toLowerCase())),
+            Integer.signum(dict.rank(a, false) - dict.rank(b, false)));
+      }
+    }
+  }
+
+  @Test
+  public void testCountDistinctMixesCodesAndValues() throws Exception {
+    RootModel root = new RootModel();
+    GroupModel det = root.addChildModel("det");
+    det.addKeyField("id");
+    det.addField("cat");
+    SchemaRow row = new SchemaRow(new RowSchema(new String[] { "id", "cat" }));
+    Set<String> expected = new HashSet<String>();
+    int id = 0;
+    //campionamento con pochi valori, poi valori nuovi fino alla dimensione
+    //massima, oltre la quale i valori non vengono più codificati
+    int total = StringDictionary.SAMPLE_SIZE + StringDictionary.MAX_SIZE * 3 / 2 + 3000;
+    for (int i = 0; i < total; i++) {
+      String cat;
+      if (i < StringDictionary.SAMPLE_SIZE) {
+        cat = "V" + i % 100;
+      } else if (i % 3 == 0) {
+        //valori già nel dizionario, ripetuti anche dopo la disattivazione
+        cat = "V" + i % 100;
+      } else {
+        cat = "U" + i;
+      }
+      if (i % 1000 == 999) {
+        cat = null;
+      }
+      row.setValue(0, Long.valueOf(id++));
+      row.setValue(1, cat);
+      root.assignData(row);
+      if (cat != null) {
+        expected.add(cat);
+      }
+    }
+    DataFieldModel cat = det.getCampo("cat");
+    assertEquals(StringDictionary.MAX_SIZE, cat.getDictionary().size());
+    assertTrue(cat.getDictionaryCode("V5") >= 0);
+    assertEquals(-1, cat.getDictionaryCode("U" + (total - 1)));
+
+    List<DataField> fields = new ArrayList<DataField>();
+    for (Group g : root.getRootGroup().getChildList("det").getInstances()) {
+      fields.add(g.getField("cat"));
+    }
+    assertEquals(expected.size(), Group.countDistinctValues(fields));
+
+    //campi di modelli diversi: nessuna codifica, solo il Set
+    RootModel other = new RootModel();
+    GroupModel otherDet = other.addChildModel("det");
+    otherDet.addKeyField("id");
+    otherDet.addField("cat");
+    row.setValue(0, Long.valueOf(0));
+    row.setValue(1, "V5");
+    other.assignData(row);
+    row.setValue(0, Long.valueOf(1));
+    row.setValue(1, "nuovo");
+    other.assignData(row);
+    for (Group g : other.getRootGroup().getChildList("det").getInstances()) {
+      fields.add(g.getField("cat"));
+    }
+    assertEquals(expected.size() + 1, Group.countDistinctValues(fields));
+  }
+}